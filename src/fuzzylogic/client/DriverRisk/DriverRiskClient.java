@@ -2,6 +2,7 @@ package fuzzylogic.client.DriverRisk;
 
 import fuzzylogic.core.FuzzySystemBuilder;
 import fuzzylogic.core.FuzzyEngine;
+import fuzzylogic.core.FuzzyLookupTable;
 import fuzzylogic.defuzzification.CentroidDefuzzifier;
 import fuzzylogic.defuzzification.Defuzzifier;
 import fuzzylogic.fuzzification.BasicFuzzifier;
@@ -104,5 +105,11 @@ public class DriverRiskClient {
 
         Map<LinguisticVariable, Double> results = engine.evaluate(inputs);
         System.out.println("\n(Engine Result Check) Accident Risk = " + results.get(risk));
+
+        FuzzyLookupTable table = FuzzyLookupTable.build(engine, 21);
+        System.out.println("\n=== LOOKUP TABLE (21 points per input) ===");
+        System.out.println("Accident Risk = " + table.evaluate(inputs).get(risk)
+                + " (estimated error at cell centres: " + table.getErrorEstimate(risk)
+                + ", coverage mismatches: " + table.getCoverageMismatches(risk) + ")");
     }
 }
@@ -0,0 +1,256 @@
+package fuzzylogic.client.DriverRisk;
+
+import fuzzylogic.core.FuzzyEngine;
+import fuzzylogic.core.FuzzySystemBuilder;
+import fuzzylogic.defuzzification.AnalyticCentroidDefuzzifier;
+import fuzzylogic.inference.MamdaniInference;
+import fuzzylogic.inference.SugenoInference;
+import fuzzylogic.operators.implications.MinImplication;
+import fuzzylogic.operators.snorms.MaxSNorm;
+import fuzzylogic.operators.snorms.SumSNorm;
+import fuzzylogic.operators.tnorms.MinTNorm;
+import fuzzylogic.operators.tnorms.ProductTNorm;
+import fuzzylogic.rules.MamdaniRuleParser;
+import fuzzylogic.rules.RuleBase;
+import fuzzylogic.rules.SugenoRuleParser;
+import fuzzylogic.variables.LinguisticVariable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Shares one frozen engine between many threads.
+ *
+ * First a stress check: every thread evaluates the same inputs in its own random order,
+ * and each result must equal the one computed up front on a single thread. Then a hot-swap
+ * check on a frozen and a regular engine: the same readers run while another thread keeps
+ * switching the rules between two versions with updateRules, and each result must match one
+ * of the two versions, never a half-applied batch. Then a throughput run on 1, 8 and 64
+ * platform threads, and on 64 and 10,000 virtual threads.
+ */
+public class DriverRiskConcurrencyBenchmark {
+
+    private static final int INPUTS = 4_096;
+    private static final int EVALUATIONS = 400_000;
+
+    public static void main(String[] args) throws Exception {
+        LinguisticVariable speed = DriverRiskVariables.speed();
+        LinguisticVariable road = DriverRiskVariables.roadCondition();
+        LinguisticVariable visibility = DriverRiskVariables.visibility();
+        LinguisticVariable risk = DriverRiskVariables.accidentRisk();
+        List<LinguisticVariable> variables = List.of(speed, road, visibility, risk);
+
+        RuleBase mamdaniRules = new RuleBase(new MamdaniRuleParser(variables));
+        DriverRiskRules.addRules(mamdaniRules, speed, road, visibility, risk);
+        RuleBase sugenoRules = new RuleBase(new SugenoRuleParser(variables));
+        DriverRiskSugenoRules.addRules(sugenoRules, speed, road, visibility, risk);
+
+        // Regular engines get their own copies, since building a frozen engine freezes its rule base
+        FuzzyEngine mamdaniRegular = mamdani(mamdaniRules.copy(), risk, false);
+        FuzzyEngine sugenoRegular = sugeno(sugenoRules.copy(), false);
+        FuzzyEngine mamdani = mamdani(mamdaniRules, risk, true);
+        FuzzyEngine sugeno = sugeno(sugenoRules, true);
+
+        Random random = new Random(42);
+        List<Map<LinguisticVariable, Double>> inputs = new ArrayList<>();
+        for (int i = 0; i < INPUTS; i++) {
+            Map<LinguisticVariable, Double> input = new HashMap<>();
+            input.put(speed, random.nextDouble() * 200);
+            input.put(road, random.nextDouble() * 10);
+            input.put(visibility, random.nextDouble() * 1000);
+            inputs.add(input);
+        }
+
+        boolean ok = true;
+        for (FuzzyEngine engine : List.of(mamdani, sugeno)) {
+            String name = engine == mamdani ? "Mamdani" : "Sugeno";
+            System.out.println("\n=== " + name + " ===");
+
+            List<Map<LinguisticVariable, Double>> expected = new ArrayList<>();
+            for (Map<LinguisticVariable, Double> input : inputs)
+                expected.add(engine.evaluate(input));
+
+            ok &= stress(name + ", 64 platform threads", Executors.newFixedThreadPool(64), 64, engine, inputs, expected);
+            ok &= stress(name + ", 1000 virtual threads", Executors.newVirtualThreadPerTaskExecutor(), 1000, engine, inputs, expected);
+
+            FuzzyEngine regular = engine == mamdani ? mamdaniRegular : sugenoRegular;
+            ok &= hotSwap(name + ", frozen, 64 threads", Executors.newFixedThreadPool(64), 64, engine, inputs, expected);
+            ok &= hotSwap(name + ", regular, 64 threads", Executors.newFixedThreadPool(64), 64, regular, inputs, expected);
+
+            throughput("1 platform thread", Executors.newFixedThreadPool(1), 1, engine, inputs, risk);
+            throughput("8 platform threads", Executors.newFixedThreadPool(8), 8, engine, inputs, risk);
+            throughput("64 platform threads", Executors.newFixedThreadPool(64), 64, engine, inputs, risk);
+            throughput("64 virtual threads", Executors.newVirtualThreadPerTaskExecutor(), 64, engine, inputs, risk);
+            throughput("10000 virtual threads", Executors.newVirtualThreadPerTaskExecutor(), 10_000, engine, inputs, risk);
+        }
+
+        System.out.println("\nAvailable processors: " + Runtime.getRuntime().availableProcessors());
+        if (!ok) {
+            System.out.println("Concurrent results differed from single-threaded results.");
+            System.exit(1);
+        }
+    }
+
+    private static FuzzyEngine mamdani(RuleBase rules, LinguisticVariable risk, boolean frozen) {
+        return new FuzzySystemBuilder()
+                .setRuleBase(rules)
+                .setMode(FuzzyEngine.Mode.MAMDANI)
+                .setMamdaniInference(new MamdaniInference(
+                        new MinTNorm(), new MaxSNorm(), new MinImplication(), new MaxSNorm()))
+                .setDefuzzifier(new AnalyticCentroidDefuzzifier(risk))
+                .setFrozen(frozen)
+                .build();
+    }
+
+    private static FuzzyEngine sugeno(RuleBase rules, boolean frozen) {
+        return new FuzzySystemBuilder()
+                .setRuleBase(rules)
+                .setMode(FuzzyEngine.Mode.SUGENO)
+                .setSugenoInference(new SugenoInference(new ProductTNorm(), new SumSNorm()))
+                .setFrozen(frozen)
+                .build();
+    }
+
+    /** Every task evaluates all inputs in its own order and counts results that differ. */
+    private static boolean stress(String label, ExecutorService pool, int tasks, FuzzyEngine engine,
+                                  List<Map<LinguisticVariable, Double>> inputs,
+                                  List<Map<LinguisticVariable, Double>> expected) throws Exception {
+        AtomicLong mismatches = new AtomicLong();
+        try (pool) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                long seed = t;
+                futures.add(pool.submit(() -> {
+                    Random order = new Random(seed);
+                    for (int k = 0; k < inputs.size(); k++) {
+                        int i = order.nextInt(inputs.size());
+                        if (!engine.evaluate(inputs.get(i)).equals(expected.get(i)))
+                            mismatches.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> f : futures)
+                f.get();
+        }
+        System.out.printf("  stress  %-32s %,d evaluations, %d mismatches%n",
+                label, (long) tasks * inputs.size(), mismatches.get());
+        return mismatches.get() == 0;
+    }
+
+    /**
+     * Runs the stress readers while a writer thread keeps switching the engine between its
+     * current rules and a second version (rule 0 disabled and rule 1 at half weight, applied
+     * as one batch). Every result must match one of the two versions; anything else means a
+     * reader saw a torn update. The engine is left on its original rules.
+     */
+    private static boolean hotSwap(String label, ExecutorService pool, int tasks, FuzzyEngine engine,
+                                   List<Map<LinguisticVariable, Double>> inputs,
+                                   List<Map<LinguisticVariable, Double>> expected) throws Exception {
+        double[] weight = new double[1];
+        Consumer<RuleBase> swap = rules -> {
+            weight[0] = rules.getAllRules().get(1).getWeight();
+            rules.disableRule(0);
+            rules.setRuleWeight(1, weight[0] * 0.5);
+        };
+        Consumer<RuleBase> restore = rules -> {
+            rules.enableRule(0);
+            rules.setRuleWeight(1, weight[0]);
+        };
+
+        engine.updateRules(swap);
+        List<Map<LinguisticVariable, Double>> swapped = new ArrayList<>();
+        for (Map<LinguisticVariable, Double> input : inputs)
+            swapped.add(engine.evaluate(input));
+        engine.updateRules(restore);
+
+        AtomicLong original = new AtomicLong();
+        AtomicLong edited = new AtomicLong();
+        AtomicLong torn = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean();
+        long[] swaps = new long[1];
+
+        Thread writer = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    engine.updateRules(swaps[0]++ % 2 == 0 ? swap : restore);
+                    Thread.sleep(1);
+                }
+                if (swaps[0] % 2 == 1)
+                    engine.updateRules(restore);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+
+        try (pool) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                long seed = t;
+                futures.add(pool.submit(() -> {
+                    Random order = new Random(seed);
+                    for (int k = 0; k < inputs.size(); k++) {
+                        int i = order.nextInt(inputs.size());
+                        Map<LinguisticVariable, Double> result = engine.evaluate(inputs.get(i));
+                        if (result.equals(expected.get(i)))
+                            original.incrementAndGet();
+                        else if (result.equals(swapped.get(i)))
+                            edited.incrementAndGet();
+                        else
+                            torn.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+
+        boolean restored = engine.evaluate(inputs.get(0)).equals(expected.get(0));
+        System.out.printf("  swap    %-32s %,d swaps, %,d old, %,d new, %d torn%s%n",
+                label, swaps[0], original.get(), edited.get(), torn.get(),
+                restored ? "" : ", rules not restored");
+        return torn.get() == 0 && restored;
+    }
+
+    /** Splits a fixed number of evaluations over the tasks and reports evaluations per second. */
+    private static void throughput(String label, ExecutorService pool, int tasks, FuzzyEngine engine,
+                                   List<Map<LinguisticVariable, Double>> inputs,
+                                   LinguisticVariable output) throws Exception {
+        int perTask = Math.max(1, EVALUATIONS / tasks);
+        double sink = 0;
+
+        long start = System.nanoTime();
+        try (pool) {
+            List<Future<Double>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                int offset = t * 7919;
+                futures.add(pool.submit(() -> {
+                    double sum = 0;
+                    for (int k = 0; k < perTask; k++) {
+                        Double value = engine.evaluate(inputs.get((offset + k) % inputs.size())).get(output);
+                        if (value != null) sum += value;
+                    }
+                    return sum;
+                }));
+            }
+            for (Future<Double> f : futures)
+                sink += f.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("  bench   %-32s %,12.0f evaluations/s  (checksum %.1f)%n",
+                label, (double) perTask * tasks / seconds, sink);
+    }
+}
@@ -3,19 +3,44 @@ package fuzzylogic.core;
 import fuzzylogic.defuzzification.Defuzzifier;
 import fuzzylogic.fuzzification.BasicFuzzifier;
 import fuzzylogic.fuzzification.Fuzzifier;
+import fuzzylogic.inference.InferencePlan;
 import fuzzylogic.inference.MamdaniInference;
+import fuzzylogic.inference.MamdaniResult;
 import fuzzylogic.inference.SugenoInference;
 import fuzzylogic.rules.RuleBase;
 import fuzzylogic.variables.FuzzySet;
 import fuzzylogic.variables.LinguisticVariable;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+/**
+ * Runs fuzzification, inference and defuzzification over a compiled {@link InferencePlan}.
+ *
+ * Scratch arrays are kept per thread, so any engine can be evaluated by concurrent callers
+ * as long as the fuzzifier and defuzzifier are thread-safe, as the built-in ones are. The
+ * two kinds of engine differ only in how they see their rules.
+ *
+ * A regular engine follows its {@link RuleBase}: structural edits trigger a recompile and
+ * rule weights and enabled flags are read live. Editing the rule base directly while other
+ * threads evaluate is not safe; {@link #updateRules} is, since it commits a whole batch as
+ * one new version.
+ *
+ * A frozen engine ({@link FuzzySystemBuilder#setFrozen}) compiles a frozen plan once, at
+ * construction, from a private copy of the rules, and freezes the rule base it was given so
+ * that edits which it would ignore throw instead. Its rules are changed with
+ * {@link #updateRules}, which swaps in a new plan atomically, even under concurrent callers.
+ */
 public class FuzzyEngine {
 
     public enum Mode { MAMDANI, SUGENO }
 
+    /** Records evaluated together by the batch API; small enough for a chunk's scratch arrays to stay in cache. */
+    private static final int BATCH_CHUNK = 256;
+
     private final RuleBase ruleBase;
     private final Fuzzifier fuzzifier;
     private final Mode mode;
@@ -25,12 +50,36 @@ public class FuzzyEngine {
 
     private final SugenoInference sugenoInference;
 
+    private final boolean frozen;
+
+    // Compiled form of the rule base with the version it was compiled from, rebuilt when the
+    // rule base version changes (unless frozen). One volatile holder, so a plan and its version
+    // are always published together and a new plan reaches running evaluations in one write.
+    private volatile CompiledPlan compiled;
+
+    // Frozen engines: private copy of the rules behind the current plan, only touched under updateLock
+    private RuleBase frozenRules;
+    private final Object updateLock = new Object();
+
+    // Scratch space for single-record evaluation, one per thread and plan
+    private final ThreadLocal<Scratch> threadScratch = new ThreadLocal<>();
+
     public FuzzyEngine(RuleBase ruleBase,
                        Mode mode,
                        MamdaniInference mamdaniInference,
                        Defuzzifier defuzzifier,
                        SugenoInference sugenoInference,
                        Fuzzifier fuzzifier) {
+        this(ruleBase, mode, mamdaniInference, defuzzifier, sugenoInference, fuzzifier, false);
+    }
+
+    public FuzzyEngine(RuleBase ruleBase,
+                       Mode mode,
+                       MamdaniInference mamdaniInference,
+                       Defuzzifier defuzzifier,
+                       SugenoInference sugenoInference,
+                       Fuzzifier fuzzifier,
+                       boolean frozen) {
 
         this.ruleBase = ruleBase;
         this.mode = mode;
@@ -55,36 +104,309 @@ public class FuzzyEngine {
         } else {
             throw new IllegalArgumentException("Unknown mode: " + mode);
         }
+
+        this.frozen = frozen;
+        if (frozen) {
+            this.frozenRules = ruleBase.copy();
+            ruleBase.freeze();
+            this.compiled = new CompiledPlan(compile(frozenRules, true), -1);
+        }
+    }
+
+    private InferencePlan compile(RuleBase rules, boolean frozenPlan) {
+        return mode == Mode.MAMDANI
+                ? mamdaniInference.compile(rules, frozenPlan)
+                : sugenoInference.compile(rules, frozenPlan);
     }
 
+    /**
+     * Applies a batch of rule edits as one new version.
+     *
+     * The edits run on a private copy of the current rules. On a frozen engine the copy is
+     * then compiled and published with a single volatile write; the rule base passed to the
+     * builder stays frozen and untouched. On a regular engine the copy is committed to its
+     * rule base with {@link RuleBase#commit}, and the next evaluation recompiles. Either way,
+     * evaluations already running finish on the old rules, later ones see the whole batch,
+     * and readers never lock. Updates are serialized, and a batch that throws publishes nothing.
+     *
+     * <pre>
+     * engine.updateRules(rules -> {
+     *     rules.disableRule(3);
+     *     rules.setRuleWeight(5, 0.5);
+     *     rules.addRuleFromString("IF Speed is Fast THEN Risk is High");
+     * });
+     * </pre>
+     */
+    public void updateRules(Consumer<RuleBase> edits) {
+        synchronized (updateLock) {
+            RuleBase next = (frozen ? frozenRules : ruleBase).copy();
+            edits.accept(next);
+            if (!frozen) {
+                ruleBase.commit(next);
+                return;
+            }
+
+            InferencePlan plan = compile(next, true);
+
+            frozenRules = next;
+            compiled = new CompiledPlan(plan, -1);
+        }
+    }
+
+    /** True if this engine was compiled once and is safe to share between threads. */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+
+    /**
+     * Returns the compiled plan. A regular engine recompiles after structural changes to the
+     * rule base; a frozen engine always returns the plan it was built with.
+     */
+    public InferencePlan getInferencePlan() {
+        CompiledPlan current = compiled;
+        if (frozen)
+            return current.plan;
+        // Read the version before compiling: if the rule base changes meanwhile, the plan is
+        // tagged as older than it is and simply recompiled on the next call, never served stale
+        int version = ruleBase.getVersion();
+        if (current == null || current.version != version) {
+            current = new CompiledPlan(compile(ruleBase, false), version);
+            compiled = current;
+        }
+        return current.plan;
+    }
+
+    /** A compiled plan and the rule base version it was compiled from. */
+    private static final class CompiledPlan {
+        final InferencePlan plan;
+        final int version;
+
+        CompiledPlan(InferencePlan plan, int version) {
+            this.plan = plan;
+            this.version = version;
+        }
+    }
 
     public Map<LinguisticVariable, Double> evaluate(Map<LinguisticVariable, Double> inputs) {
-        Map<LinguisticVariable, Map<FuzzySet, Double>> fuzzifiedInputs = new HashMap<>();
-        for (var entry : inputs.entrySet()) {
-            fuzzifiedInputs.put(entry.getKey(), fuzzifier.fuzzify(entry.getValue(), entry.getKey()));
+        InferencePlan plan = getInferencePlan();
+        Scratch scratch = threadScratch(plan);
+        double[] memberships = scratch.memberships;
+        double[] inputValues = scratch.inputValues;
+
+        boolean[] present = null;
+        for (int i = 0; i < plan.inputCount(); i++) {
+            LinguisticVariable variable = plan.inputVariable(i);
+            Double x = inputs.get(variable);
+
+            if (x == null) {
+                if (present == null) {
+                    present = new boolean[plan.inputCount()];
+                    Arrays.fill(present, true);
+                }
+                present[i] = false;
+                Arrays.fill(memberships, plan.firstSlot(i), plan.endSlot(i), 0.0);
+                inputValues[i] = 0.0;
+            } else {
+                fuzzify(plan, i, x, memberships);
+                inputValues[i] = x;
+            }
         }
+        if (present != null)
+            plan.requireInputs(present);
 
         Map<LinguisticVariable, Double> outputs = new HashMap<>();
 
         if (mode == Mode.MAMDANI) {
-            Map<LinguisticVariable, Map<FuzzySet, Double>> inferred =
-                    mamdaniInference.infer(fuzzifiedInputs, ruleBase);
+            MamdaniResult result = scratch.mamdani;
+            plan.inferMamdani(memberships, result, scratch.workspace);
 
-            for (var entry : inferred.entrySet()) {
-                outputs.put(entry.getKey(), defuzzifier.defuzzify(entry.getValue()));
-            }
+            for (int o = 0; o < plan.outputCount(); o++)
+                if (result.hasOutput(o))
+                    outputs.put(plan.outputVariable(o), defuzzifier.defuzzify(result, o));
 
         } else {
-            Map<LinguisticVariable, Double> inferred = sugenoInference.infer(fuzzifiedInputs, ruleBase);
-            outputs.putAll(inferred);
+            double[] values = scratch.values;
+            boolean[] fired = scratch.fired;
+            plan.inferSugeno(memberships, inputValues, values, fired, scratch.workspace);
+
+            for (int o = 0; o < plan.outputCount(); o++)
+                if (fired[o])
+                    outputs.put(plan.outputVariable(o), values[o]);
         }
 
         return outputs;
     }
 
+    /**
+     * Columnar evaluation of many records at once. inputs holds one column per input variable,
+     * all of the same length, and the result holds one column per output variable. Records
+     * for which no rule concluded an output get NaN in that output's column.
+     */
+    public Map<LinguisticVariable, double[]> evaluateBatch(Map<LinguisticVariable, double[]> inputs) {
+        return evaluateBatch(inputs, false);
+    }
+
+    /**
+     * Like {@link #evaluateBatch(Map)}; with parallel set, chunks of records are spread over the
+     * common fork-join pool, so the fuzzifier and defuzzifier are called from several threads.
+     */
+    public Map<LinguisticVariable, double[]> evaluateBatch(Map<LinguisticVariable, double[]> inputs, boolean parallel) {
+        InferencePlan plan = getInferencePlan();
+
+        double[][] columns = new double[plan.inputCount()][];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = inputs.get(plan.inputVariable(i));
+
+        double[][] results = evaluateBatch(plan, columns, parallel);
+
+        Map<LinguisticVariable, double[]> outputs = new HashMap<>();
+        for (int o = 0; o < results.length; o++)
+            outputs.put(plan.outputVariable(o), results[o]);
+        return outputs;
+    }
+
+    /**
+     * Index-ordered form of {@link #evaluateBatch(Map, boolean)}: columns follow the inputs of
+     * {@link #getInferencePlan()} (null for a missing input) and the result follows its outputs.
+     */
+    public double[][] evaluateBatch(double[][] columns, boolean parallel) {
+        return evaluateBatch(getInferencePlan(), columns, parallel);
+    }
+
+    private double[][] evaluateBatch(InferencePlan plan, double[][] columns, boolean parallel) {
+        if (columns.length != plan.inputCount())
+            throw new IllegalArgumentException(
+                    "Expected " + plan.inputCount() + " input columns, got " + columns.length);
+
+        int records = -1;
+        boolean[] present = null;
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == null) {
+                if (present == null) {
+                    present = new boolean[columns.length];
+                    Arrays.fill(present, true);
+                }
+                present[i] = false;
+            } else if (records < 0) {
+                records = columns[i].length;
+            } else if (columns[i].length != records) {
+                throw new IllegalArgumentException("Input column for " + plan.inputVariable(i).getName()
+                        + " has " + columns[i].length + " values, expected " + records);
+            }
+        }
+        if (present != null)
+            plan.requireInputs(present);
+
+        int n = Math.max(records, 0);
+        double[][] results = new double[plan.outputCount()][n];
+
+        IntStream chunks = IntStream.range(0, (n + BATCH_CHUNK - 1) / BATCH_CHUNK);
+        if (parallel)
+            chunks = chunks.parallel();
+        chunks.forEach(c -> {
+            int from = c * BATCH_CHUNK;
+            evaluateChunk(plan, columns, from, Math.min(BATCH_CHUNK, n - from), results);
+        });
+
+        return results;
+    }
+
+    /** Evaluates records [from, from + n) with scratch arrays private to this chunk. */
+    private void evaluateChunk(InferencePlan plan, double[][] columns, int from, int n, double[][] results) {
+        double[] memberships = new double[plan.membershipCount() * n];
+        for (int i = 0; i < columns.length; i++)
+            if (columns[i] != null)
+                fuzzifyBatch(plan, i, columns[i], from, n, memberships);
+
+        double[] strength = new double[n];
+
+        if (mode == Mode.MAMDANI) {
+            int sets = plan.outputSetCount();
+            double[] activation = new double[sets * n];
+            boolean[] touched = new boolean[sets * n];
+            plan.inferMamdaniBatch(memberships, n, activation, touched, strength);
+
+            MamdaniResult record = plan.newMamdaniResult();
+            for (int j = 0; j < n; j++) {
+                record.loadRecord(activation, touched, n, j);
+                for (int o = 0; o < plan.outputCount(); o++)
+                    results[o][from + j] = record.hasOutput(o) ? defuzzifier.defuzzify(record, o) : Double.NaN;
+            }
+
+        } else {
+            double[] values = new double[plan.outputCount() * n];
+            double[] weightTotals = new double[plan.outputCount() * n];
+            double[] coefficientTotals = plan.isFirstOrder()
+                    ? new double[plan.outputCount() * (plan.inputCount() + 1) * n]
+                    : null;
+            plan.inferSugenoBatch(memberships, columns, from, n, values, strength, weightTotals, coefficientTotals);
+
+            for (int o = 0; o < plan.outputCount(); o++)
+                System.arraycopy(values, o * n, results[o], from, n);
+        }
+    }
+
+    /** Batch counterpart of {@link #fuzzify}: fills one input's slots for n records. */
+    private void fuzzifyBatch(InferencePlan plan, int input, double[] xs, int from, int n, double[] memberships) {
+        if (fuzzifier.getClass() == BasicFuzzifier.class) {
+            plan.fuzzifyBatch(input, xs, from, n, memberships);
+            return;
+        }
+
+        for (int j = 0; j < n; j++) {
+            Map<FuzzySet, Double> fuzzified = fuzzifier.fuzzify(xs[from + j], plan.inputVariable(input));
+            for (int s = plan.firstSlot(input); s < plan.endSlot(input); s++)
+                memberships[s * n + j] = fuzzified.getOrDefault(plan.inputSet(s), 0.0);
+        }
+    }
+
+    /** Fills the membership slots of one input, going through the configured fuzzifier unless it is the basic one. */
+    private void fuzzify(InferencePlan plan, int input, double x, double[] memberships) {
+        if (fuzzifier.getClass() == BasicFuzzifier.class) {
+            plan.fuzzify(input, x, memberships);
+            return;
+        }
+
+        Map<FuzzySet, Double> fuzzified = fuzzifier.fuzzify(x, plan.inputVariable(input));
+        for (int s = plan.firstSlot(input); s < plan.endSlot(input); s++)
+            memberships[s] = fuzzified.getOrDefault(plan.inputSet(s), 0.0);
+    }
+
     public SugenoInference getSugenoInference() {
         return sugenoInference;
     }
 
+    /** This thread's scratch for the given plan, replaced only when a new plan has been published. */
+    private Scratch threadScratch(InferencePlan plan) {
+        Scratch scratch = threadScratch.get();
+        if (scratch == null || scratch.plan != plan) {
+            scratch = new Scratch(plan);
+            threadScratch.set(scratch);
+        }
+        return scratch;
+    }
+
+    /** Reusable arrays for evaluating one record against a plan. */
+    private static final class Scratch {
+        final InferencePlan plan;
+        final double[] memberships;
+        final double[] inputValues;
+        final MamdaniResult mamdani;
+        final double[] values;
+        final boolean[] fired;
+        final InferencePlan.Workspace workspace;
+
+        Scratch(InferencePlan plan) {
+            this.plan = plan;
+            memberships = new double[plan.membershipCount()];
+            inputValues = new double[plan.inputCount()];
+            mamdani = plan.newMamdaniResult();
+            values = new double[plan.outputCount()];
+            fired = new boolean[plan.outputCount()];
+            workspace = plan.newWorkspace();
+        }
+    }
+
 
 }
@@ -0,0 +1,292 @@
+package fuzzylogic.core;
+
+import fuzzylogic.inference.InferencePlan;
+import fuzzylogic.variables.LinguisticVariable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link FuzzyEngine} tabulated on a regular grid over its input domains and read back
+ * by multilinear interpolation, so an evaluation costs 2^inputs table reads.
+ *
+ * Building the table evaluates the engine at every grid point and at the centre of every
+ * grid cell. The largest difference at the cell centres is kept as an error estimate for
+ * each output ({@link #getErrorEstimate}); it is measured, not a bound, since the engine's
+ * output need not be smooth between samples. Cell centres where only one of the table and
+ * the engine has a value are counted separately ({@link #getCoverageMismatches}). The table
+ * is a snapshot: later rule base edits are not reflected. Inputs outside a variable's domain
+ * are clamped to it.
+ *
+ * Grid points where no rule fired hold NaN. Interpolation skips them and renormalises the
+ * weights of the remaining corners, so a cell is NaN only if all of its weighted corners are.
+ *
+ * <pre>
+ * FuzzyLookupTable table = FuzzyLookupTable.build(engine, 41);
+ * double risk = table.evaluate(0, speed, road, visibility);
+ * </pre>
+ */
+public class FuzzyLookupTable {
+
+    private final LinguisticVariable[] inputs;
+    private final LinguisticVariable[] outputs;
+
+    private final double[] start;
+    private final double[] step;
+    private final int[] points;
+    private final int[] stride;
+
+    // values[output][flat grid index], the last input varying fastest
+    private final double[][] values;
+    private final double[] errorEstimate;
+    private final int[] coverageMismatches;
+
+    // Per-thread fractional cell offsets for evaluate, so lookups allocate nothing
+    private final ThreadLocal<double[]> fracBuffer;
+
+    private FuzzyLookupTable(InferencePlan plan, int[] points) {
+        int d = plan.inputCount();
+        this.inputs = new LinguisticVariable[d];
+        this.outputs = new LinguisticVariable[plan.outputCount()];
+        this.start = new double[d];
+        this.step = new double[d];
+        this.points = points.clone();
+        this.stride = new int[d];
+
+        for (int o = 0; o < outputs.length; o++)
+            outputs[o] = plan.outputVariable(o);
+
+        long total = 1;
+        for (int i = d - 1; i >= 0; i--) {
+            LinguisticVariable variable = plan.inputVariable(i);
+            double lo = variable.getDomainStart();
+            double hi = variable.getDomainEnd();
+            if (!(hi > lo) || Double.isInfinite(hi - lo))
+                throw new IllegalArgumentException("Input " + variable.getName() + " needs a finite, non-empty domain.");
+            if (points[i] < 2)
+                throw new IllegalArgumentException("Input " + variable.getName() + " needs at least 2 grid points.");
+
+            inputs[i] = variable;
+            start[i] = lo;
+            step[i] = (hi - lo) / (points[i] - 1);
+            stride[i] = (int) total;
+
+            total *= points[i];
+            if (total > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Lookup table would have more than " + Integer.MAX_VALUE + " points.");
+        }
+
+        this.values = new double[outputs.length][];
+        this.errorEstimate = new double[outputs.length];
+        this.coverageMismatches = new int[outputs.length];
+        this.fracBuffer = ThreadLocal.withInitial(() -> new double[d]);
+    }
+
+    /** Tabulates the engine with the same number of grid points along every input. */
+    public static FuzzyLookupTable build(FuzzyEngine engine, int pointsPerInput) {
+        int[] points = new int[engine.getInferencePlan().inputCount()];
+        Arrays.fill(points, pointsPerInput);
+        return build(engine, points);
+    }
+
+    /** Tabulates the engine with pointsPerInput[i] grid points along input i of its plan. */
+    public static FuzzyLookupTable build(FuzzyEngine engine, int[] pointsPerInput) {
+        InferencePlan plan = engine.getInferencePlan();
+        if (pointsPerInput.length != plan.inputCount())
+            throw new IllegalArgumentException(
+                    "Expected grid sizes for " + plan.inputCount() + " inputs, got " + pointsPerInput.length);
+
+        FuzzyLookupTable table = new FuzzyLookupTable(plan, pointsPerInput);
+        table.fill(engine);
+        table.measureError(engine);
+        return table;
+    }
+
+    private void fill(FuzzyEngine engine) {
+        int d = inputs.length;
+        int total = d == 0 ? 1 : stride[0] * points[0];
+
+        double[][] columns = new double[d][total];
+        for (int i = 0; i < d; i++)
+            for (int k = 0; k < total; k++)
+                columns[i][k] = gridPoint(i, (k / stride[i]) % points[i]);
+
+        double[][] results = engine.evaluateBatch(columns, true);
+        System.arraycopy(results, 0, values, 0, values.length);
+    }
+
+    /** Compares the table with the engine at the centre of every grid cell. */
+    private void measureError(FuzzyEngine engine) {
+        int d = inputs.length;
+        long cells = 1;
+        for (int i = 0; i < d; i++)
+            cells *= points[i] - 1;
+
+        double[][] columns = new double[d][(int) cells];
+        for (int k = 0; k < cells; k++) {
+            long rest = k;
+            for (int i = d - 1; i >= 0; i--) {
+                int cell = (int) (rest % (points[i] - 1));
+                rest /= points[i] - 1;
+                columns[i][k] = start[i] + (cell + 0.5) * step[i];
+            }
+        }
+
+        double[][] exact = engine.evaluateBatch(columns, true);
+        double[] x = new double[d];
+        for (int o = 0; o < outputs.length; o++) {
+            double worst = 0;
+            int mismatches = 0;
+            for (int k = 0; k < cells; k++) {
+                for (int i = 0; i < d; i++)
+                    x[i] = columns[i][k];
+                double approx = evaluate(o, x);
+                // NaN means no rule fired; agreement on that is fine, disagreement is a coverage gap
+                if (Double.isNaN(approx) || Double.isNaN(exact[o][k])) {
+                    if (Double.isNaN(approx) != Double.isNaN(exact[o][k]))
+                        mismatches++;
+                    continue;
+                }
+                worst = Math.max(worst, Math.abs(approx - exact[o][k]));
+            }
+            errorEstimate[o] = worst;
+            coverageMismatches[o] = mismatches;
+        }
+    }
+
+    private double gridPoint(int input, int index) {
+        // The last point is the domain end exactly, not start + (n - 1) * step
+        return index == points[input] - 1
+                ? inputs[input].getDomainEnd()
+                : start[input] + index * step[input];
+    }
+
+    /**
+     * Interpolated value of one output. x follows the input order of the engine's
+     * {@link FuzzyEngine#getInferencePlan() plan}. Corners where no rule fired are left out
+     * and the other weights renormalised; NaN only if no weighted corner has a value.
+     */
+    public double evaluate(int output, double... x) {
+        int d = inputs.length;
+        if (x.length != d)
+            throw new IllegalArgumentException("Expected " + d + " inputs, got " + x.length);
+
+        double[] table = values[output];
+        double[] frac = fracBuffer.get();
+        int base = 0;
+
+        for (int i = 0; i < d; i++) {
+            double t = (x[i] - start[i]) / step[i];
+            int cell;
+            if (!(t > 0)) {
+                cell = 0;
+                t = 0;
+            } else if (t >= points[i] - 1) {
+                cell = points[i] - 2;
+                t = 1;
+            } else {
+                cell = (int) t;
+                t -= cell;
+            }
+            base += cell * stride[i];
+            frac[i] = t;
+        }
+
+        double sum = 0;
+        double weights = 0;
+        boolean skipped = false;
+        for (int corner = 0; corner < 1 << d; corner++) {
+            double weight = 1;
+            int offset = base;
+            for (int i = 0; i < d; i++) {
+                if ((corner >> i & 1) != 0) {
+                    weight *= frac[i];
+                    offset += stride[i];
+                } else {
+                    weight *= 1 - frac[i];
+                }
+            }
+            if (weight == 0)
+                continue;
+            double value = table[offset];
+            if (Double.isNaN(value)) {
+                skipped = true;
+                continue;
+            }
+            sum += weight * value;
+            weights += weight;
+        }
+        // Without gaps the weights already sum to 1; dividing anyway would only add rounding
+        if (!skipped)
+            return sum;
+        return weights == 0 ? Double.NaN : sum / weights;
+    }
+
+    /** Map form matching {@link FuzzyEngine#evaluate}: outputs that no rule concluded are left out. */
+    public Map<LinguisticVariable, Double> evaluate(Map<LinguisticVariable, Double> inputValues) {
+        double[] x = new double[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            Double value = inputValues.get(inputs[i]);
+            if (value == null)
+                throw new IllegalArgumentException("Missing input: " + inputs[i].getName());
+            x[i] = value;
+        }
+
+        Map<LinguisticVariable, Double> result = new HashMap<>();
+        for (int o = 0; o < outputs.length; o++) {
+            double value = evaluate(o, x);
+            if (!Double.isNaN(value))
+                result.put(outputs[o], value);
+        }
+        return result;
+    }
+
+    public int inputCount() {
+        return inputs.length;
+    }
+
+    public LinguisticVariable inputVariable(int input) {
+        return inputs[input];
+    }
+
+    public int outputCount() {
+        return outputs.length;
+    }
+
+    public LinguisticVariable outputVariable(int output) {
+        return outputs[output];
+    }
+
+    /**
+     * Largest |table - engine| seen at the grid cell centres where both have a value. This is
+     * an estimate from samples, not a bound: the error between centres can be larger.
+     */
+    public double getErrorEstimate(int output) {
+        return errorEstimate[output];
+    }
+
+    public double getErrorEstimate(LinguisticVariable output) {
+        return errorEstimate[outputIndex(output)];
+    }
+
+    /**
+     * Number of grid cell centres where exactly one of the table and the engine has a value
+     * for this output, i.e. they disagree on whether any rule fires there. 0 means the table
+     * covers the same region as the engine, as far as the cell centres show.
+     */
+    public int getCoverageMismatches(int output) {
+        return coverageMismatches[output];
+    }
+
+    public int getCoverageMismatches(LinguisticVariable output) {
+        return coverageMismatches[outputIndex(output)];
+    }
+
+    private int outputIndex(LinguisticVariable output) {
+        for (int o = 0; o < outputs.length; o++)
+            if (outputs[o].equals(output))
+                return o;
+        throw new IllegalArgumentException("Not an output of this table: " + output.getName());
+    }
+}
@@ -21,6 +21,7 @@ public class FuzzySystemBuilder {
     private SugenoInference sugenoInference;
     private Defuzzifier defuzzifier;
     private Fuzzifier fuzzifier;
+    private boolean frozen;
 
     public FuzzySystemBuilder setRuleBase(RuleBase ruleBase) {
         this.ruleBase = ruleBase;
@@ -57,6 +58,17 @@ public class FuzzySystemBuilder {
         return this;
     }
 
+    /**
+     * A frozen engine compiles the rule base once in {@link #build()}, capturing rule weights
+     * and enabled flags, and is then safe to share between threads. The rule base is frozen
+     * too, so later edits made through it throw IllegalStateException instead of being
+     * silently ignored; change the engine's rules with {@link FuzzyEngine#updateRules}.
+     */
+    public FuzzySystemBuilder setFrozen(boolean frozen) {
+        this.frozen = frozen;
+        return this;
+    }
+
     public FuzzyEngine build() {
         if (ruleBase == null) throw new IllegalStateException("RuleBase must be set");
         rules.forEach(ruleBase::addRule);
@@ -79,7 +91,8 @@ public class FuzzySystemBuilder {
                 mamdaniInference,
                 defuzzifier,
                 sugenoInference,
-                fuzzifier != null ? fuzzifier : new BasicFuzzifier()
+                fuzzifier != null ? fuzzifier : new BasicFuzzifier(),
+                frozen
         );
     }
 }
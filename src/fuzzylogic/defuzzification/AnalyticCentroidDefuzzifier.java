@@ -0,0 +1,62 @@
+package fuzzylogic.defuzzification;
+
+import fuzzylogic.inference.MamdaniResult;
+import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
+import java.util.Map;
+
+/**
+ * Exact centroid for piecewise-linear output sets (triangular, trapezoidal).
+ *
+ * The clipped, max-aggregated output is built as a list of straight pieces and integrated
+ * in closed form, so the cost grows with the number of segments instead of samples x sets.
+ * When some aggregated set is not piecewise linear it falls back to
+ * {@link CentroidDefuzzifier}: singleton outputs are handled exactly, anything else is
+ * sampled with the given number of samples.
+ */
+public class AnalyticCentroidDefuzzifier extends CentroidDefuzzifier {
+
+    public AnalyticCentroidDefuzzifier(LinguisticVariable outputVar) {
+        super(outputVar);
+    }
+
+    public AnalyticCentroidDefuzzifier(LinguisticVariable outputVar, int samples) {
+        super(outputVar, samples);
+    }
+
+    @Override
+    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
+        if (aggregatedOutput == null || aggregatedOutput.isEmpty()) {
+            return midpoint(variable);
+        }
+
+        PiecewiseLinearAggregate shape = PiecewiseLinearAggregate.of(
+                aggregatedOutput, variable.getDomainStart(), variable.getDomainEnd());
+        if (shape == null) {
+            return super.defuzzify(aggregatedOutput, variable);
+        }
+
+        return centroid(shape, variable);
+    }
+
+    @Override
+    public double defuzzify(MamdaniResult result, int output) {
+        LinguisticVariable variable = result.outputVariable(output);
+        if (!result.hasOutput(output)) {
+            return midpoint(variable);
+        }
+
+        PiecewiseLinearAggregate shape = PiecewiseLinearAggregate.of(
+                result, output, variable.getDomainStart(), variable.getDomainEnd());
+        if (shape == null) {
+            return super.defuzzify(result, output);
+        }
+
+        return centroid(shape, variable);
+    }
+
+    private double centroid(PiecewiseLinearAggregate shape, LinguisticVariable variable) {
+        double area = shape.area();
+        return (area == 0) ? midpoint(variable) : shape.moment() / area;
+    }
+}
@@ -0,0 +1,98 @@
+package fuzzylogic.defuzzification;
+
+import fuzzylogic.inference.MamdaniResult;
+import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
+import java.util.Map;
+
+/**
+ * Exact mean of maximum for piecewise-linear output sets (triangular, trapezoidal).
+ *
+ * The aggregated output is built as straight pieces, and the pieces at the maximum height
+ * are read off directly. The result is the midpoint of the plateau, or the length-weighted
+ * mean of the midpoints when there are several plateaus. When the maximum is only reached
+ * at isolated peaks, the result is the mean of those points. Falls back to
+ * {@link MeanOfMaxDefuzzifier} (exact for singleton outputs, sampled otherwise) when some
+ * aggregated set is not piecewise linear.
+ */
+public class AnalyticMeanOfMaxDefuzzifier extends MeanOfMaxDefuzzifier {
+
+    public AnalyticMeanOfMaxDefuzzifier(LinguisticVariable outputVar) {
+        super(outputVar);
+    }
+
+    public AnalyticMeanOfMaxDefuzzifier(LinguisticVariable outputVar, int samples) {
+        super(outputVar, samples);
+    }
+
+    @Override
+    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
+        if (aggregatedOutput == null || aggregatedOutput.isEmpty()) {
+            return midpoint(variable);
+        }
+
+        PiecewiseLinearAggregate shape = PiecewiseLinearAggregate.of(
+                aggregatedOutput, variable.getDomainStart(), variable.getDomainEnd());
+        if (shape == null) {
+            return super.defuzzify(aggregatedOutput, variable);
+        }
+
+        return meanOfMax(shape, variable);
+    }
+
+    @Override
+    public double defuzzify(MamdaniResult result, int output) {
+        LinguisticVariable variable = result.outputVariable(output);
+        if (!result.hasOutput(output)) {
+            return midpoint(variable);
+        }
+
+        PiecewiseLinearAggregate shape = PiecewiseLinearAggregate.of(
+                result, output, variable.getDomainStart(), variable.getDomainEnd());
+        if (shape == null) {
+            return super.defuzzify(result, output);
+        }
+
+        return meanOfMax(shape, variable);
+    }
+
+    private double meanOfMax(PiecewiseLinearAggregate shape, LinguisticVariable variable) {
+        double maxu = 0.0;
+        for (int p = 0; p < shape.size; p++)
+            maxu = Math.max(maxu, Math.max(shape.y0[p], shape.y1[p]));
+
+        if (maxu == 0.0) return midpoint(variable);
+
+        double floor = maxu - TIE_TOLERANCE;
+
+        // Plateaus: pieces lying at the maximum along their whole length
+        double length = 0;
+        double moment = 0;
+        for (int p = 0; p < shape.size; p++) {
+            if (shape.y0[p] >= floor && shape.y1[p] >= floor) {
+                double width = shape.x1[p] - shape.x0[p];
+                length += width;
+                moment += width * 0.5 * (shape.x0[p] + shape.x1[p]);
+            }
+        }
+        if (length > 0) return moment / length;
+
+        // No plateau: the maximum is reached only at isolated peaks
+        double sum = 0;
+        int count = 0;
+        double last = Double.NaN;
+        for (int p = 0; p < shape.size; p++) {
+            if (shape.y0[p] >= floor && shape.x0[p] != last) {
+                sum += shape.x0[p];
+                count++;
+                last = shape.x0[p];
+            }
+            if (shape.y1[p] >= floor && shape.x1[p] != last) {
+                sum += shape.x1[p];
+                count++;
+                last = shape.x1[p];
+            }
+        }
+        return sum / count;
+    }
+}
@@ -1,7 +1,10 @@
 package fuzzylogic.defuzzification;
 
+import fuzzylogic.inference.MamdaniResult;
+import fuzzylogic.membership.SingletonMF;
 import fuzzylogic.variables.FuzzySet;
 import fuzzylogic.variables.LinguisticVariable;
+import java.util.Arrays;
 import java.util.Map;
 
 public abstract class BaseMamdaniDefuzzifier implements Defuzzifier {
@@ -9,6 +12,13 @@ public abstract class BaseMamdaniDefuzzifier implements Defuzzifier {
     protected final LinguisticVariable outputVar;
     protected final int samples;
 
+    // Sample grids of the most recently used domains, newest first; replaced, never modified
+    private static final int MAX_GRIDS = 8;
+    private volatile SampleGrid[] grids = new SampleGrid[0];
+
+    // Per-thread aggregation buffers {u, mu}, so defuzzifying allocates nothing after warm-up
+    private final ThreadLocal<double[][]> buffers = new ThreadLocal<>();
+
     protected BaseMamdaniDefuzzifier(LinguisticVariable outputVar, int samples) {
         if (outputVar == null) {
             throw new IllegalArgumentException("Output variable cannot be null.");
@@ -20,6 +30,15 @@ public abstract class BaseMamdaniDefuzzifier implements Defuzzifier {
         this.samples = samples;
     }
 
+    /** Defuzzifies over the constructor's output variable. */
+    @Override
+    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput) {
+        return defuzzify(aggregatedOutput, outputVar);
+    }
+
+    @Override
+    public abstract double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable outputVariable);
+
     protected double aggregatedMembership(Map<FuzzySet, Double> aggregatedOutput, double x) {
         double max = 0.0;
         for (var entry : aggregatedOutput.entrySet()) {
@@ -30,4 +49,137 @@ public abstract class BaseMamdaniDefuzzifier implements Defuzzifier {
         }
         return max;
     }
+
+    /**
+     * Bulk form of {@link #aggregatedMembership}: u[i] is the aggregated membership at xs[i].
+     * Each set is evaluated over all points with one bulk call instead of one call per point.
+     * The returned array is a per-thread buffer, overwritten by the next call on this thread.
+     */
+    protected double[] aggregatedMemberships(Map<FuzzySet, Double> aggregatedOutput, double[] xs) {
+        double[][] buffer = buffers(xs.length);
+        double[] u = buffer[0];
+        double[] mu = buffer[1];
+        for (var entry : aggregatedOutput.entrySet()) {
+            double strength = entry.getValue();
+            entry.getKey().getMembershipFunction().compute(xs, mu);
+            for (int i = 0; i < xs.length; i++) {
+                double clipped = Math.min(strength, mu[i]);
+                if (clipped > u[i]) u[i] = clipped;
+            }
+        }
+        return u;
+    }
+
+    /** {@link #aggregatedMemberships(Map, double[])} over the touched sets of one output of a result. */
+    protected double[] aggregatedMemberships(MamdaniResult result, int output, double[] xs) {
+        double[][] buffer = buffers(xs.length);
+        double[] u = buffer[0];
+        double[] mu = buffer[1];
+        for (int s = result.firstSet(output), end = result.endSet(output); s < end; s++) {
+            if (!result.isTouched(s))
+                continue;
+            double strength = result.activation(s);
+            result.set(s).getMembershipFunction().compute(xs, mu);
+            for (int i = 0; i < xs.length; i++) {
+                double clipped = Math.min(strength, mu[i]);
+                if (clipped > u[i]) u[i] = clipped;
+            }
+        }
+        return u;
+    }
+
+    /**
+     * The sample points start + i * step over the variable's domain, used by the sampling
+     * defuzzifiers. Grids are cached by domain bounds and shared by all callers, so they must
+     * not be modified. Changing a domain simply selects, or builds, another grid.
+     */
+    protected double[] samplePoints(LinguisticVariable variable) {
+        double start = variable.getDomainStart();
+        double end   = variable.getDomainEnd();
+
+        SampleGrid[] cached = grids;
+        for (SampleGrid grid : cached)
+            if (grid.start == start && grid.end == end)
+                return grid.xs;
+
+        SampleGrid grid = new SampleGrid(start, end, samples);
+        SampleGrid[] next = new SampleGrid[Math.min(cached.length + 1, MAX_GRIDS)];
+        next[0] = grid;
+        System.arraycopy(cached, 0, next, 1, next.length - 1);
+        grids = next;
+        return grid.xs;
+    }
+
+    /** This thread's u and mu buffers, n long, with u zeroed. */
+    private double[][] buffers(int n) {
+        double[][] buffer = buffers.get();
+        if (buffer == null || buffer[0].length != n) {
+            buffer = new double[2][n];
+            buffers.set(buffer);
+        } else {
+            Arrays.fill(buffer[0], 0.0);
+        }
+        return buffer;
+    }
+
+    /**
+     * True if every concluded set is a {@link SingletonMF}. Singletons have no width, so a
+     * sampled or piecewise-linear aggregate cannot see them; subclasses defuzzify them from
+     * their points ({@link SingletonMF#centroid()}) and strengths instead. An output mixing
+     * singleton and continuous sets has no such aggregate and is rejected.
+     */
+    protected boolean isSingletonOutput(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
+        int singletons = 0;
+        for (FuzzySet set : aggregatedOutput.keySet())
+            if (set.getMembershipFunction() instanceof SingletonMF)
+                singletons++;
+        return checkSingletons(singletons, aggregatedOutput.size(), variable);
+    }
+
+    /** {@link #isSingletonOutput(Map, LinguisticVariable)} over the touched sets of one output of a result. */
+    protected boolean isSingletonOutput(MamdaniResult result, int output) {
+        int singletons = 0;
+        int touched = 0;
+        for (int s = result.firstSet(output), end = result.endSet(output); s < end; s++) {
+            if (!result.isTouched(s))
+                continue;
+            touched++;
+            if (result.set(s).getMembershipFunction() instanceof SingletonMF)
+                singletons++;
+        }
+        return checkSingletons(singletons, touched, result.outputVariable(output));
+    }
+
+    private static boolean checkSingletons(int singletons, int sets, LinguisticVariable variable) {
+        if (singletons > 0 && singletons < sets)
+            throw new IllegalArgumentException(
+                    "Output " + variable.getName() + " mixes singleton and continuous fuzzy sets.");
+        return singletons > 0;
+    }
+
+    /** The point of a set accepted by {@link #isSingletonOutput}. */
+    protected static double singletonPoint(FuzzySet set) {
+        return ((SingletonMF) set.getMembershipFunction()).centroid();
+    }
+
+    /** Result when nothing fired for this variable: the middle of its domain. */
+    protected static double midpoint(LinguisticVariable variable) {
+        return (variable.getDomainStart() + variable.getDomainEnd()) / 2.0;
+    }
+
+    /** Immutable sample points over [start, end]. */
+    private static final class SampleGrid {
+        final double start;
+        final double end;
+        final double[] xs;
+
+        SampleGrid(double start, double end, int samples) {
+            this.start = start;
+            this.end = end;
+            this.xs = new double[samples];
+            double step = (end - start) / (samples - 1);
+            for (int i = 0; i < samples; i++)
+                xs[i] = start + i * step;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package fuzzylogic.defuzzification;
 
+import fuzzylogic.inference.MamdaniResult;
 import fuzzylogic.variables.FuzzySet;
 import fuzzylogic.variables.LinguisticVariable;
 import java.util.Map;
@@ -15,29 +16,70 @@ public class CentroidDefuzzifier extends BaseMamdaniDefuzzifier {
     }
 
     @Override
-    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput) {
+    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
         if (aggregatedOutput == null || aggregatedOutput.isEmpty()) {
-            return midpoint();
+            return midpoint(variable);
         }
+        if (isSingletonOutput(aggregatedOutput, variable)) {
+            return singletonCentroid(aggregatedOutput, variable);
+        }
+
+        double[] xs = samplePoints(variable);
+        return centroid(xs, aggregatedMemberships(aggregatedOutput, xs), variable);
+    }
 
-        double start = outputVar.getDomainStart();
-        double end   = outputVar.getDomainEnd();
-        double step  = (end - start) / (samples - 1);
+    @Override
+    public double defuzzify(MamdaniResult result, int output) {
+        LinguisticVariable variable = result.outputVariable(output);
+        if (!result.hasOutput(output)) {
+            return midpoint(variable);
+        }
+        if (isSingletonOutput(result, output)) {
+            return singletonCentroid(result, output);
+        }
 
+        double[] xs = samplePoints(variable);
+        return centroid(xs, aggregatedMemberships(result, output, xs), variable);
+    }
+
+    /** Strength-weighted mean of the singleton points. */
+    private double singletonCentroid(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
         double sumNum = 0;
         double sumDen = 0;
 
-        for (int i = 0; i < samples; i++) {
-            double x = start + i * step;
-            double u = aggregatedMembership(aggregatedOutput, x);
-            sumNum += x * u;
-            sumDen += u;
+        for (var entry : aggregatedOutput.entrySet()) {
+            double strength = entry.getValue();
+            sumNum += strength * singletonPoint(entry.getKey());
+            sumDen += strength;
+        }
+
+        return (sumDen == 0) ? midpoint(variable) : sumNum / sumDen;
+    }
+
+    private double singletonCentroid(MamdaniResult result, int output) {
+        double sumNum = 0;
+        double sumDen = 0;
+
+        for (int s = result.firstSet(output), end = result.endSet(output); s < end; s++) {
+            if (!result.isTouched(s))
+                continue;
+            double strength = result.activation(s);
+            sumNum += strength * singletonPoint(result.set(s));
+            sumDen += strength;
         }
 
-        return (sumDen == 0) ? midpoint() : sumNum / sumDen;
+        return (sumDen == 0) ? midpoint(result.outputVariable(output)) : sumNum / sumDen;
     }
 
-    private double midpoint() {
-        return (outputVar.getDomainStart() + outputVar.getDomainEnd()) / 2.0;
+    private double centroid(double[] xs, double[] u, LinguisticVariable variable) {
+        double sumNum = 0;
+        double sumDen = 0;
+
+        for (int i = 0; i < samples; i++) {
+            sumNum += xs[i] * u[i];
+            sumDen += u[i];
+        }
+
+        return (sumDen == 0) ? midpoint(variable) : sumNum / sumDen;
     }
 }
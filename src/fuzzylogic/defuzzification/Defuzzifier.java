@@ -1,8 +1,32 @@
 package fuzzylogic.defuzzification;
 
+import fuzzylogic.inference.MamdaniResult;
 import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
 import java.util.Map;
 
 public interface Defuzzifier {
+    /** Defuzzifies an aggregated output of the variable this defuzzifier was built for. */
     double defuzzify(Map<FuzzySet, Double> aggregatedOutput);
+
+    /**
+     * Defuzzifies an aggregated output of the given variable. The built-in defuzzifiers work
+     * over its domain, so one instance serves every output. The default ignores it and calls
+     * {@link #defuzzify(Map)}, which suits defuzzifiers bound to a single output.
+     */
+    default double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable outputVariable) {
+        return defuzzify(aggregatedOutput);
+    }
+
+    /**
+     * Defuzzifies one output of a primitive-array inference result: the sets in slots
+     * [result.firstSet(output), result.endSet(output)) that are touched, with their activations.
+     * The default goes through {@link MamdaniResult#toMap(int)} and
+     * {@link #defuzzify(Map, LinguisticVariable)} with {@link MamdaniResult#outputVariable(int)}.
+     * The built-in defuzzifiers read the arrays directly, without building a map, and give
+     * the same result as that map path.
+     */
+    default double defuzzify(MamdaniResult result, int output) {
+        return defuzzify(result.toMap(output), result.outputVariable(output));
+    }
 }
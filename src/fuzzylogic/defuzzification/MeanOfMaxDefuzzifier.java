@@ -1,12 +1,15 @@
 package fuzzylogic.defuzzification;
 
+import fuzzylogic.inference.MamdaniResult;
 import fuzzylogic.variables.FuzzySet;
 import fuzzylogic.variables.LinguisticVariable;
 import java.util.Map;
 
-
 public class MeanOfMaxDefuzzifier extends BaseMamdaniDefuzzifier {
 
+    /** Memberships this close to the maximum count as part of it. */
+    protected static final double TIE_TOLERANCE = 1e-9;
+
     public MeanOfMaxDefuzzifier(LinguisticVariable outputVar) {
         super(outputVar, 1001);
     }
@@ -16,41 +19,92 @@ public class MeanOfMaxDefuzzifier extends BaseMamdaniDefuzzifier {
     }
 
     @Override
-    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput) {
+    public double defuzzify(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
         if (aggregatedOutput == null || aggregatedOutput.isEmpty()) {
-            return midpoint();
+            return midpoint(variable);
+        }
+        if (isSingletonOutput(aggregatedOutput, variable)) {
+            return singletonMeanOfMax(aggregatedOutput, variable);
+        }
+
+        double[] xs = samplePoints(variable);
+        return meanOfMax(xs, aggregatedMemberships(aggregatedOutput, xs), variable);
+    }
+
+    @Override
+    public double defuzzify(MamdaniResult result, int output) {
+        LinguisticVariable variable = result.outputVariable(output);
+        if (!result.hasOutput(output)) {
+            return midpoint(variable);
+        }
+        if (isSingletonOutput(result, output)) {
+            return singletonMeanOfMax(result, output);
         }
 
-        double start = outputVar.getDomainStart();
-        double end   = outputVar.getDomainEnd();
-        double step  = (end - start) / (samples - 1);
+        double[] xs = samplePoints(variable);
+        return meanOfMax(xs, aggregatedMemberships(result, output, xs), variable);
+    }
 
-        // First pass: find maximum membership
+    /** Mean of the singleton points whose strength is tied with the largest. */
+    private double singletonMeanOfMax(Map<FuzzySet, Double> aggregatedOutput, LinguisticVariable variable) {
         double maxu = 0.0;
-        for (int i = 0; i < samples; i++) {
-            double x = start + i * step;
-            double u = aggregatedMembership(aggregatedOutput, x);
-            if (u > maxu) maxu = u;
+        for (double strength : aggregatedOutput.values())
+            maxu = Math.max(maxu, strength);
+        if (maxu == 0.0) return midpoint(variable);
+
+        double sum = 0;
+        int count = 0;
+        for (var entry : aggregatedOutput.entrySet()) {
+            if (entry.getValue() >= maxu - TIE_TOLERANCE) {
+                sum += singletonPoint(entry.getKey());
+                count++;
+            }
         }
+        return sum / count;
+    }
+
+    private double singletonMeanOfMax(MamdaniResult result, int output) {
+        int first = result.firstSet(output);
+        int end = result.endSet(output);
+
+        double maxu = 0.0;
+        for (int s = first; s < end; s++)
+            if (result.isTouched(s))
+                maxu = Math.max(maxu, result.activation(s));
+        if (maxu == 0.0) return midpoint(result.outputVariable(output));
 
-        if (maxu == 0.0) return midpoint();
+        double sum = 0;
+        int count = 0;
+        for (int s = first; s < end; s++) {
+            if (result.isTouched(s) && result.activation(s) >= maxu - TIE_TOLERANCE) {
+                sum += singletonPoint(result.set(s));
+                count++;
+            }
+        }
+        return sum / count;
+    }
 
-        // Second pass: mean of all x with u == maxu
+    private double meanOfMax(double[] xs, double[] us, LinguisticVariable variable) {
+        // Single pass: running maximum plus the sum and count of samples tied with it
+        double maxu = 0.0;
         double sum = 0;
         int count = 0;
         for (int i = 0; i < samples; i++) {
-            double x = start + i * step;
-            double u = aggregatedMembership(aggregatedOutput, x);
-            if (Math.abs(u - maxu) < 1e-9) {
+            double x = xs[i];
+            double u = us[i];
+            if (u > maxu + TIE_TOLERANCE) {
+                maxu = u;
+                sum = x;
+                count = 1;
+            } else if (u >= maxu - TIE_TOLERANCE && u > 0.0) {
+                if (u > maxu) maxu = u;
                 sum += x;
                 count++;
             }
         }
 
-        return sum / count;
-    }
+        if (count == 0) return midpoint(variable);
 
-    private double midpoint() {
-        return (outputVar.getDomainStart() + outputVar.getDomainEnd()) / 2.0;
+        return sum / count;
     }
 }
@@ -0,0 +1,221 @@
+package fuzzylogic.defuzzification;
+
+import fuzzylogic.inference.MamdaniResult;
+import fuzzylogic.membership.LineSegment;
+import fuzzylogic.membership.MembershipFunction;
+import fuzzylogic.membership.PiecewiseLinearMF;
+import fuzzylogic.variables.FuzzySet;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Exact form of the aggregated Mamdani output {@code max_i min(strength_i, mu_i(x))}
+ * over a domain, when every output set is piecewise linear.
+ *
+ * The shape is stored as consecutive linear pieces: piece p runs from (x0[p], y0[p])
+ * to (x1[p], y1[p]). Within a piece the aggregate is exactly that straight line, so
+ * integrals over it have closed forms.
+ */
+final class PiecewiseLinearAggregate {
+
+    final double[] x0;
+    final double[] x1;
+    final double[] y0;
+    final double[] y1;
+    final int size;
+
+    private PiecewiseLinearAggregate(double[] x0, double[] x1, double[] y0, double[] y1, int size) {
+        this.x0 = x0;
+        this.x1 = x1;
+        this.y0 = y0;
+        this.y1 = y1;
+        this.size = size;
+    }
+
+    /** Builds the aggregate on [start, end], or returns null if some set is not piecewise linear. */
+    static PiecewiseLinearAggregate of(Map<FuzzySet, Double> aggregatedOutput, double start, double end) {
+        FuzzySet[] sets = new FuzzySet[aggregatedOutput.size()];
+        double[] strength = new double[sets.length];
+        int k = 0;
+        for (var entry : aggregatedOutput.entrySet()) {
+            sets[k] = entry.getKey();
+            strength[k++] = entry.getValue();
+        }
+        return of(sets, strength, k, start, end);
+    }
+
+    /** Same as {@link #of(Map, double, double)} for the touched sets of one output of a result. */
+    static PiecewiseLinearAggregate of(MamdaniResult result, int output, double start, double end) {
+        int first = result.firstSet(output);
+        FuzzySet[] sets = new FuzzySet[result.endSet(output) - first];
+        double[] strength = new double[sets.length];
+        int k = 0;
+        for (int s = first; s < result.endSet(output); s++) {
+            if (result.isTouched(s)) {
+                sets[k] = result.set(s);
+                strength[k++] = result.activation(s);
+            }
+        }
+        return of(sets, strength, k, start, end);
+    }
+
+    private static PiecewiseLinearAggregate of(FuzzySet[] fuzzySets, double[] strengths, int k,
+                                               double start, double end) {
+        LineSegment[][] segments = new LineSegment[k][];
+        double[] strength = new double[k];
+
+        int sets = 0;
+        int breakCount = 2;
+        for (int f = 0; f < k; f++) {
+            MembershipFunction mf = fuzzySets[f].getMembershipFunction();
+            if (!(mf instanceof PiecewiseLinearMF piecewise))
+                return null;
+
+            double s = strengths[f];
+            if (s <= 0.0)
+                continue;
+
+            segments[sets] = piecewise.getSegments().toArray(new LineSegment[0]);
+            strength[sets] = s;
+            breakCount += 3 * segments[sets].length;
+            sets++;
+        }
+
+        // Every point where some clipped set changes slope: segment ends and clip crossings
+        double[] breaks = new double[breakCount];
+        int b = 0;
+        breaks[b++] = start;
+        breaks[b++] = end;
+        for (int i = 0; i < sets; i++) {
+            for (LineSegment seg : segments[i]) {
+                breaks[b++] = seg.startX;
+                breaks[b++] = seg.endX;
+                if (seg.m != 0.0) {
+                    double cross = (strength[i] - seg.c) / seg.m;
+                    if (cross > seg.startX && cross < seg.endX)
+                        breaks[b++] = cross;
+                }
+            }
+        }
+        Arrays.sort(breaks, 0, b);
+
+        Builder out = new Builder(2 * b);
+        double[] m = new double[sets];
+        double[] c = new double[sets];
+        double[] sub = new double[2 + sets * (sets - 1) / 2];
+
+        double prev = start;
+        for (int j = 0; j < b; j++) {
+            double x = Math.min(breaks[j], end);
+            if (x <= prev)
+                continue;
+
+            // Between two breaks every clipped set is a single line
+            double mid = 0.5 * (prev + x);
+            for (int i = 0; i < sets; i++)
+                clippedLine(segments[i], strength[i], mid, m, c, i);
+
+            // Upper envelope of those lines: it can only bend where two of them cross
+            int n = 0;
+            sub[n++] = prev;
+            sub[n++] = x;
+            for (int p = 0; p < sets; p++) {
+                for (int q = p + 1; q < sets; q++) {
+                    if (m[p] == m[q])
+                        continue;
+                    double cross = (c[q] - c[p]) / (m[p] - m[q]);
+                    if (cross > prev && cross < x)
+                        sub[n++] = cross;
+                }
+            }
+            Arrays.sort(sub, 0, n);
+
+            double left = sub[0];
+            double yLeft = envelope(m, c, sets, left);
+            for (int t = 1; t < n; t++) {
+                double right = sub[t];
+                if (right <= left)
+                    continue;
+                double yRight = envelope(m, c, sets, right);
+                out.add(left, right, yLeft, yRight);
+                left = right;
+                yLeft = yRight;
+            }
+
+            prev = x;
+        }
+
+        return new PiecewiseLinearAggregate(out.x0, out.x1, out.y0, out.y1, out.size);
+    }
+
+    /** Line of min(strength, mu(x)) around x, written to m[i], c[i]. Zero outside the segments. */
+    private static void clippedLine(LineSegment[] segments, double strength, double x,
+                                    double[] m, double[] c, int i) {
+        m[i] = 0.0;
+        c[i] = 0.0;
+        for (LineSegment seg : segments) {
+            if (x >= seg.startX && x <= seg.endX) {
+                if (seg.compute(x) >= strength) {
+                    c[i] = strength;
+                } else {
+                    m[i] = seg.m;
+                    c[i] = seg.c;
+                }
+                return;
+            }
+        }
+    }
+
+    private static double envelope(double[] m, double[] c, int sets, double x) {
+        double max = 0.0;
+        for (int i = 0; i < sets; i++) {
+            double y = m[i] * x + c[i];
+            if (y > max) max = y;
+        }
+        return max;
+    }
+
+    /** Integral of the aggregate over the domain. */
+    double area() {
+        double area = 0;
+        for (int p = 0; p < size; p++)
+            area += (x1[p] - x0[p]) * (y0[p] + y1[p]) / 2.0;
+        return area;
+    }
+
+    /** Integral of x times the aggregate over the domain. */
+    double moment() {
+        double moment = 0;
+        for (int p = 0; p < size; p++)
+            moment += (x1[p] - x0[p]) * (x0[p] * (2 * y0[p] + y1[p]) + x1[p] * (y0[p] + 2 * y1[p])) / 6.0;
+        return moment;
+    }
+
+    private static final class Builder {
+        double[] x0, x1, y0, y1;
+        int size;
+
+        Builder(int capacity) {
+            capacity = Math.max(capacity, 4);
+            x0 = new double[capacity];
+            x1 = new double[capacity];
+            y0 = new double[capacity];
+            y1 = new double[capacity];
+        }
+
+        void add(double a, double b, double ya, double yb) {
+            if (size == x0.length) {
+                x0 = Arrays.copyOf(x0, size * 2);
+                x1 = Arrays.copyOf(x1, size * 2);
+                y0 = Arrays.copyOf(y0, size * 2);
+                y1 = Arrays.copyOf(y1, size * 2);
+            }
+            x0[size] = a;
+            x1[size] = b;
+            y0[size] = ya;
+            y1[size] = yb;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,930 @@
+package fuzzylogic.inference;
+
+import fuzzylogic.operators.implications.Implication;
+import fuzzylogic.operators.implications.MinImplication;
+import fuzzylogic.operators.implications.ProductImplication;
+import fuzzylogic.operators.snorms.MaxSNorm;
+import fuzzylogic.operators.snorms.SNorm;
+import fuzzylogic.operators.tnorms.MinTNorm;
+import fuzzylogic.operators.tnorms.ProductTNorm;
+import fuzzylogic.operators.tnorms.TNorm;
+import fuzzylogic.rules.*;
+import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link RuleBase} lowered to flat, index-based arrays for fast repeated evaluation.
+ *
+ * Every input variable referenced by a rule gets an input index, and each of its fuzzy sets
+ * gets a membership slot in one {@code double[]}. Every output fuzzy set (Mamdani) or output
+ * variable (Sugeno) also gets a slot. A rule becomes a run of antecedent slots joined by
+ * AND/OR flags plus a run of consequent slots. Firing a rule is therefore a loop over
+ * primitive arrays, with no map lookups, set-name searches or boxing.
+ *
+ * Rules are compiled in rule-base order with the same operators as
+ * {@link MamdaniInference#infer} and {@link SugenoInference#infer}, so results are identical.
+ * First-order Sugeno consequents are the exception: their weighted sum is factored through
+ * a coefficient matrix, which can round differently in the last bits.
+ * A rule's enabled flag and weight are read from the {@link Rule} on every evaluation. Any
+ * structural change (rules added or removed, antecedents edited) needs a recompile, which
+ * {@code FuzzyEngine} does automatically via {@link RuleBase#getVersion()}.
+ *
+ * Single-record inference is sparse: the plan indexes, for every membership slot, the
+ * rules that read it, and only visits rules whose antecedent sets are active. With
+ * triangular or trapezoidal sets only a few sets per input are non-zero, so the cost
+ * follows the number of rules that can fire rather than the size of the rule base.
+ * The selection relies on T(0, x) = 0 and S(0, 0) = 0, which every t-norm and s-norm satisfies.
+ *
+ * A frozen plan also copies each rule's enabled flag and weight at compile time, so it no
+ * longer reads any mutable object. Plans are immutable after construction, and every
+ * evaluation method works only on caller-supplied arrays and {@link Workspace}s, so one plan
+ * can serve any number of threads as long as each thread uses its own scratch arrays.
+ */
+public class InferencePlan {
+
+    private final ConsequentType type;
+    private final TNorm andOperator;
+    private final SNorm orOperator;
+    private final Implication implication;
+    private final SNorm aggregation;
+
+    private final Rule[] rules;
+
+    // Inputs: input i owns membership slots [setStart[i], setStart[i + 1])
+    private final LinguisticVariable[] inputs;
+    private final int[] setStart;
+    private final FuzzySet[] inputSets;
+
+    // Antecedents: rule r owns terms [termStart[r], termStart[r + 1])
+    private final int[] termStart;
+    private final int[] termSlot;
+    private final int[] termInput;
+    private final boolean[] termOr;
+
+    // Consequents: rule r owns [consequentStart[r], consequentStart[r + 1])
+    private final int[] consequentStart;
+    private final int[] consequentSlot;
+    private final double[] consequentValue;
+
+    // First-order Sugeno: consequent k is row k of a (consequents x (inputs + 1)) matrix holding
+    // c0 followed by one coefficient per input. Null when every consequent is a constant.
+    private final double[] consequentCoefficients;
+
+    // Outputs: Mamdani output o owns output-set slots [outputSetStart[o], outputSetStart[o + 1])
+    private final LinguisticVariable[] outputs;
+    private final int[] outputSetStart;
+    private final FuzzySet[] outputSets;
+
+    // Problems found while compiling, raised only if the rule actually runs (like the map-based path)
+    private final String[] antecedentError;
+    private final String[] consequentError;
+
+    // Sparse activation: slot s is read by rules slotRules[slotRuleStart[s], slotRuleStart[s + 1]),
+    // once per antecedent term. A rule is a candidate once requiredHits[r] of its terms are active:
+    // all of them for AND-only rules, one for rules with an OR.
+    private final int[] slotRuleStart;
+    private final int[] slotRules;
+    private final int[] requiredHits;
+    // Rules with antecedent errors are always visited, so they still fail when enabled
+    private final int[] unindexedRules;
+
+    // Enabled flags and weights captured at compile time; null when read live from the rules
+    private final boolean[] frozenEnabled;
+    private final double[] frozenWeight;
+
+    private InferencePlan(RuleBase ruleBase, ConsequentType type,
+                          TNorm andOperator, SNorm orOperator,
+                          Implication implication, SNorm aggregation, boolean frozen) {
+        this.type = type;
+        this.andOperator = andOperator;
+        this.orOperator = orOperator;
+        this.implication = implication;
+        this.aggregation = aggregation;
+
+        List<Rule> all = ruleBase.getAllRules();
+        int ruleCount = all.size();
+        this.rules = all.toArray(new Rule[0]);
+
+        this.antecedentError = new String[ruleCount];
+        this.consequentError = new String[ruleCount];
+
+        if (frozen) {
+            this.frozenEnabled = new boolean[ruleCount];
+            this.frozenWeight = new double[ruleCount];
+            for (int r = 0; r < ruleCount; r++) {
+                frozenEnabled[r] = rules[r].isEnabled();
+                frozenWeight[r] = rules[r].getWeight();
+            }
+        } else {
+            this.frozenEnabled = null;
+            this.frozenWeight = null;
+        }
+
+        // ---- Inputs and antecedents ----
+        Map<LinguisticVariable, Integer> inputIndex = new HashMap<>();
+        List<LinguisticVariable> inputList = new ArrayList<>();
+        List<Integer> setStarts = new ArrayList<>();
+        List<FuzzySet> inputSetList = new ArrayList<>();
+
+        IntList slots = new IntList();
+        IntList slotInputs = new IntList();
+        List<Boolean> ors = new ArrayList<>();
+        this.termStart = new int[ruleCount + 1];
+
+        for (int r = 0; r < ruleCount; r++) {
+            termStart[r] = slots.size();
+            List<Antecedent> ants = rules[r].getAntecedents();
+            List<LogicalOperator> ops = rules[r].getOperators();
+
+            for (int t = 0; t < ants.size(); t++) {
+                Antecedent a = ants.get(t);
+                LinguisticVariable lv = a.getVariable();
+
+                int input = registerInput(lv, inputIndex, inputList, setStarts, inputSetList);
+
+                int slot = -1;
+                List<FuzzySet> sets = lv.getSets();
+                FuzzySet fs = lv.getFuzzySetByName(a.getFuzzySetLabel());
+                if (fs == null) {
+                    if (antecedentError[r] == null)
+                        antecedentError[r] = "Unknown fuzzy set: " + a.getFuzzySetLabel();
+                } else {
+                    slot = setStarts.get(input) + sets.indexOf(fs);
+                }
+
+                if (t > 0 && t - 1 >= ops.size() && antecedentError[r] == null)
+                    antecedentError[r] = "Rule has " + ants.size() + " antecedents but only "
+                            + ops.size() + " operators: " + rules[r];
+
+                slots.add(slot);
+                slotInputs.add(input);
+                ors.add(t > 0 && t - 1 < ops.size() && ops.get(t - 1) == LogicalOperator.OR);
+            }
+        }
+        termStart[ruleCount] = slots.size();
+
+        // Variables read only by first-order consequents are inputs too, after the antecedent ones
+        if (type == ConsequentType.SUGENO)
+            for (Rule rule : rules)
+                for (Consequent c : rule.getConsequents())
+                    if (c instanceof SugenoConsequent sc)
+                        for (LinguisticVariable lv : sc.getInputs())
+                            registerInput(lv, inputIndex, inputList, setStarts, inputSetList);
+
+        this.inputs = inputList.toArray(new LinguisticVariable[0]);
+        this.setStart = new int[inputs.length + 1];
+        for (int i = 0; i < inputs.length; i++)
+            setStart[i] = setStarts.get(i);
+        setStart[inputs.length] = inputSetList.size();
+        this.inputSets = inputSetList.toArray(new FuzzySet[0]);
+
+        this.termSlot = slots.toArray();
+        this.termInput = slotInputs.toArray();
+        this.termOr = new boolean[ors.size()];
+        for (int t = 0; t < termOr.length; t++)
+            termOr[t] = ors.get(t);
+
+        // ---- Sparse activation index ----
+        this.slotRuleStart = new int[inputSets.length + 1];
+        this.requiredHits = new int[ruleCount];
+        IntList unindexed = new IntList();
+
+        for (int r = 0; r < ruleCount; r++) {
+            if (antecedentError[r] != null) {
+                unindexed.add(r);
+                continue;
+            }
+            boolean andOnly = true;
+            for (int t = termStart[r]; t < termStart[r + 1]; t++) {
+                slotRuleStart[termSlot[t] + 1]++;
+                andOnly &= !termOr[t];
+            }
+            requiredHits[r] = andOnly ? termStart[r + 1] - termStart[r] : 1;
+        }
+        for (int s = 0; s < inputSets.length; s++)
+            slotRuleStart[s + 1] += slotRuleStart[s];
+
+        this.slotRules = new int[slotRuleStart[inputSets.length]];
+        int[] fill = Arrays.copyOf(slotRuleStart, inputSets.length);
+        for (int r = 0; r < ruleCount; r++) {
+            if (antecedentError[r] != null)
+                continue;
+            for (int t = termStart[r]; t < termStart[r + 1]; t++)
+                slotRules[fill[termSlot[t]]++] = r;
+        }
+        this.unindexedRules = unindexed.toArray();
+
+        // ---- Outputs and consequents ----
+        Map<LinguisticVariable, Integer> outputIndex = new HashMap<>();
+        List<LinguisticVariable> outputList = new ArrayList<>();
+        List<List<FuzzySet>> outputSetLists = new ArrayList<>();
+
+        IntList consequentOutput = new IntList();
+        IntList consequentSet = new IntList();
+        List<Double> values = new ArrayList<>();
+        List<SugenoConsequent> sugenoConsequents = new ArrayList<>();
+        boolean firstOrder = false;
+        this.consequentStart = new int[ruleCount + 1];
+
+        for (int r = 0; r < ruleCount; r++) {
+            consequentStart[r] = consequentOutput.size();
+
+            for (Consequent c : rules[r].getConsequents()) {
+                if (c.getType() != type) {
+                    // Mamdani skips foreign consequents; Sugeno rejects them when the rule fires
+                    if (type == ConsequentType.SUGENO && consequentError[r] == null)
+                        consequentError[r] = "Expected SugenoConsequent, got " + c.getClass();
+                    continue;
+                }
+
+                LinguisticVariable outVar = type == ConsequentType.MAMDANI
+                        ? ((MamdaniConsequent) c).getOutputVariable()
+                        : ((SugenoConsequent) c).getOutputVariable();
+
+                Integer output = outputIndex.get(outVar);
+                if (output == null) {
+                    output = outputList.size();
+                    outputIndex.put(outVar, output);
+                    outputList.add(outVar);
+                    outputSetLists.add(new ArrayList<>(outVar.getSets()));
+                }
+                consequentOutput.add(output);
+
+                if (type == ConsequentType.MAMDANI) {
+                    FuzzySet fs = ((MamdaniConsequent) c).getFuzzySet();
+                    List<FuzzySet> outSets = outputSetLists.get(output);
+                    int set = outSets.indexOf(fs);
+                    if (set < 0) {
+                        set = outSets.size();
+                        outSets.add(fs);
+                    }
+                    consequentSet.add(set);
+                    values.add(0.0);
+                } else {
+                    SugenoConsequent sc = (SugenoConsequent) c;
+                    consequentSet.add(-1);
+                    values.add(sc.getValue());
+                    sugenoConsequents.add(sc);
+                    firstOrder |= sc.isFirstOrder();
+                }
+            }
+        }
+        consequentStart[ruleCount] = consequentOutput.size();
+
+        this.outputs = outputList.toArray(new LinguisticVariable[0]);
+        this.outputSetStart = new int[outputs.length + 1];
+        List<FuzzySet> allOutputSets = new ArrayList<>();
+        for (int o = 0; o < outputs.length; o++) {
+            outputSetStart[o] = allOutputSets.size();
+            allOutputSets.addAll(outputSetLists.get(o));
+        }
+        outputSetStart[outputs.length] = allOutputSets.size();
+        this.outputSets = allOutputSets.toArray(new FuzzySet[0]);
+
+        // Mamdani consequents point straight at a global output-set slot, Sugeno ones at an output
+        this.consequentSlot = new int[consequentOutput.size()];
+        this.consequentValue = new double[consequentOutput.size()];
+        for (int k = 0; k < consequentSlot.length; k++) {
+            int output = consequentOutput.get(k);
+            consequentSlot[k] = type == ConsequentType.MAMDANI
+                    ? outputSetStart[output] + consequentSet.get(k)
+                    : output;
+            consequentValue[k] = values.get(k);
+        }
+
+        if (firstOrder) {
+            int width = inputs.length + 1;
+            this.consequentCoefficients = new double[consequentSlot.length * width];
+            for (int k = 0; k < consequentSlot.length; k++) {
+                SugenoConsequent sc = sugenoConsequents.get(k);
+                consequentCoefficients[k * width] = sc.getValue();
+                List<LinguisticVariable> terms = sc.getInputs();
+                for (int t = 0; t < terms.size(); t++)
+                    consequentCoefficients[k * width + 1 + inputIndex.get(terms.get(t))] += sc.getCoefficient(t);
+            }
+        } else {
+            this.consequentCoefficients = null;
+        }
+    }
+
+    /** Index of lv among the inputs, adding it and its sets (as membership slots) if new. */
+    private static int registerInput(LinguisticVariable lv, Map<LinguisticVariable, Integer> inputIndex,
+                                     List<LinguisticVariable> inputList, List<Integer> setStarts,
+                                     List<FuzzySet> inputSetList) {
+        Integer input = inputIndex.get(lv);
+        if (input == null) {
+            input = inputList.size();
+            inputIndex.put(lv, input);
+            inputList.add(lv);
+            setStarts.add(inputSetList.size());
+            inputSetList.addAll(lv.getSets());
+        }
+        return input;
+    }
+
+    static InferencePlan mamdani(RuleBase ruleBase, TNorm andOperator, SNorm orOperator,
+                                 Implication implication, SNorm aggregation, boolean frozen) {
+        return new InferencePlan(ruleBase, ConsequentType.MAMDANI,
+                andOperator, orOperator, implication, aggregation, frozen);
+    }
+
+    static InferencePlan sugeno(RuleBase ruleBase, TNorm andOperator, SNorm orOperator, boolean frozen) {
+        return new InferencePlan(ruleBase, ConsequentType.SUGENO,
+                andOperator, orOperator, null, null, frozen);
+    }
+
+    /* =========================
+       Layout
+       ========================= */
+
+    /**
+     * True if some Sugeno consequent is first-order. Such a plan must be evaluated with the
+     * crisp input values: {@link #inferSugeno(double[], double[], double[], boolean[], Workspace)}
+     * and the batch overload taking input columns.
+     */
+    public boolean isFirstOrder() {
+        return consequentCoefficients != null;
+    }
+
+    /** True if enabled flags and weights were captured at compile time. */
+    public boolean isFrozen() {
+        return frozenEnabled != null;
+    }
+
+    private boolean isEnabled(int r) {
+        return frozenEnabled != null ? frozenEnabled[r] : rules[r].isEnabled();
+    }
+
+    private double weight(int r) {
+        return frozenWeight != null ? frozenWeight[r] : rules[r].getWeight();
+    }
+
+    public ConsequentType getType() {
+        return type;
+    }
+
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    public int inputCount() {
+        return inputs.length;
+    }
+
+    public LinguisticVariable inputVariable(int input) {
+        return inputs[input];
+    }
+
+    /** Index of a variable among the inputs, or -1 if no rule reads it. */
+    public int inputIndex(LinguisticVariable variable) {
+        for (int i = 0; i < inputs.length; i++)
+            if (inputs[i] == variable)
+                return i;
+        return -1;
+    }
+
+    /** Size of the membership array passed to {@link #fuzzify} and the infer methods. */
+    public int membershipCount() {
+        return inputSets.length;
+    }
+
+    public int firstSlot(int input) {
+        return setStart[input];
+    }
+
+    public int endSlot(int input) {
+        return setStart[input + 1];
+    }
+
+    public FuzzySet inputSet(int slot) {
+        return inputSets[slot];
+    }
+
+    public int outputCount() {
+        return outputs.length;
+    }
+
+    public LinguisticVariable outputVariable(int output) {
+        return outputs[output];
+    }
+
+    /** Mamdani only: size of the activation array passed to {@link #inferMamdani}. */
+    public int outputSetCount() {
+        return outputSets.length;
+    }
+
+    public int firstOutputSet(int output) {
+        return outputSetStart[output];
+    }
+
+    public int endOutputSet(int output) {
+        return outputSetStart[output + 1];
+    }
+
+    public FuzzySet outputSet(int slot) {
+        return outputSets[slot];
+    }
+
+    /* =========================
+       Evaluation
+       ========================= */
+
+    /** Writes the membership of x in every set of the given input into its slots. */
+    public void fuzzify(int input, double x, double[] memberships) {
+        for (int s = setStart[input], end = setStart[input + 1]; s < end; s++)
+            memberships[s] = inputSets[s].getMembership(x);
+    }
+
+    /**
+     * Fails like the map-based inference would when an enabled rule reads an input
+     * that was not supplied. Only needed when some input is missing.
+     */
+    public void requireInputs(boolean[] present) {
+        for (int r = 0; r < rules.length; r++) {
+            if (!isEnabled(r))
+                continue;
+            for (int t = termStart[r]; t < termStart[r + 1]; t++)
+                if (!present[termInput[t]])
+                    throw new RuntimeException("No fuzzified values for variable: " + inputs[termInput[t]].getName());
+            if (consequentCoefficients == null)
+                continue;
+            int width = inputs.length + 1;
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++)
+                for (int i = 0; i < inputs.length; i++)
+                    if (!present[i] && consequentCoefficients[k * width + 1 + i] != 0)
+                        throw new IllegalArgumentException("No input value for variable: " + inputs[i].getName());
+        }
+    }
+
+    /** Firing strength of rule r (antecedents folded left to right, times the rule weight). */
+    public double ruleStrength(int r, double[] memberships) {
+        if (antecedentError[r] != null)
+            throw new RuntimeException(antecedentError[r]);
+
+        int t = termStart[r];
+        int end = termStart[r + 1];
+        if (t == end)
+            return 0.0;
+
+        double strength = memberships[termSlot[t]];
+        for (t++; t < end; t++) {
+            double next = memberships[termSlot[t]];
+            strength = termOr[t]
+                    ? orOperator.apply(strength, next)
+                    : andOperator.apply(strength, next);
+        }
+        return strength * weight(r);
+    }
+
+    /**
+     * Mamdani inference. activation[slot] receives the aggregated strength of each output set,
+     * and touched[slot] marks the sets that at least one fired rule concluded. Those are the
+     * entries the map-based {@link MamdaniInference#infer} would have returned.
+     */
+    public void inferMamdani(double[] memberships, double[] activation, boolean[] touched) {
+        inferMamdani(memberships, activation, touched, newWorkspace());
+    }
+
+    /** {@link #inferMamdani(double[], double[], boolean[])} reusing the caller's workspace. */
+    public void inferMamdani(double[] memberships, double[] activation, boolean[] touched, Workspace workspace) {
+        Arrays.fill(activation, 0, outputSets.length, 0.0);
+        Arrays.fill(touched, 0, outputSets.length, false);
+
+        int[] candidates = workspace.candidates;
+        int count = activeRules(memberships, workspace);
+
+        for (int i = 0; i < count; i++) {
+            int r = candidates[i];
+            if (!isEnabled(r))
+                continue;
+
+            double strength = ruleStrength(r, memberships);
+            if (strength <= 0.0)
+                continue;
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int slot = consequentSlot[k];
+                double implied = implication.apply(strength, 1.0);
+                activation[slot] = aggregation.apply(activation[slot], implied);
+                touched[slot] = true;
+            }
+        }
+    }
+
+    /** {@link #inferMamdani(double[], double[], boolean[], Workspace)} into a result of this plan. */
+    public void inferMamdani(double[] memberships, MamdaniResult result, Workspace workspace) {
+        if (result.getPlan() != this)
+            throw new IllegalArgumentException("MamdaniResult belongs to a different plan.");
+        inferMamdani(memberships, result.activation, result.touched, workspace);
+    }
+
+    /** Result arrays sized for this plan's output sets. Not thread-safe: use one per thread. */
+    public MamdaniResult newMamdaniResult() {
+        return new MamdaniResult(this);
+    }
+
+    /**
+     * Zero-order Sugeno inference. output[o] receives the weighted average for each output
+     * variable, and fired[o] is false (output left at 0) when no rule concluded it.
+     */
+    public void inferSugeno(double[] memberships, double[] output, boolean[] fired) {
+        inferSugeno(memberships, output, fired, newWorkspace());
+    }
+
+    /** {@link #inferSugeno(double[], double[], boolean[])} reusing the caller's workspace. */
+    public void inferSugeno(double[] memberships, double[] output, boolean[] fired, Workspace workspace) {
+        if (consequentCoefficients != null)
+            throw new IllegalStateException("First-order Sugeno rules need the crisp input values.");
+        int n = outputs.length;
+        double[] weightTotals = workspace.weightTotals;
+        Arrays.fill(weightTotals, 0.0);
+        Arrays.fill(output, 0, n, 0.0);
+
+        int[] candidates = workspace.candidates;
+        int count = activeRules(memberships, workspace);
+
+        for (int i = 0; i < count; i++) {
+            int r = candidates[i];
+            if (!isEnabled(r))
+                continue;
+
+            double strength = ruleStrength(r, memberships);
+            if (strength <= 0)
+                continue;
+            if (consequentError[r] != null)
+                throw new RuntimeException(consequentError[r]);
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int o = consequentSlot[k];
+                output[o] += strength * consequentValue[k];
+                weightTotals[o] += strength;
+            }
+        }
+
+        for (int o = 0; o < n; o++) {
+            fired[o] = weightTotals[o] != 0;
+            output[o] = fired[o] ? output[o] / weightTotals[o] : 0.0;
+        }
+    }
+
+    /**
+     * Sugeno inference with crisp input values (indexed like the plan's inputs), as needed by
+     * first-order consequents. For zero-order plans it is the same as
+     * {@link #inferSugeno(double[], double[], boolean[], Workspace)}.
+     *
+     * The weighted sum over the fired rules is factored through the coefficient matrix: each
+     * fired consequent adds strength x its row (c0, c1..cn) to its output's row, and each output
+     * is then one dot product of that row with (1, x1..xn), divided by the total strength.
+     */
+    public void inferSugeno(double[] memberships, double[] inputValues, double[] output, boolean[] fired,
+                            Workspace workspace) {
+        if (consequentCoefficients == null) {
+            inferSugeno(memberships, output, fired, workspace);
+            return;
+        }
+
+        int n = outputs.length;
+        int width = inputs.length + 1;
+        double[] weightTotals = workspace.weightTotals;
+        double[] coefficientTotals = workspace.coefficientTotals;
+        Arrays.fill(weightTotals, 0.0);
+        Arrays.fill(coefficientTotals, 0.0);
+
+        int[] candidates = workspace.candidates;
+        int count = activeRules(memberships, workspace);
+
+        for (int i = 0; i < count; i++) {
+            int r = candidates[i];
+            if (!isEnabled(r))
+                continue;
+
+            double strength = ruleStrength(r, memberships);
+            if (strength <= 0)
+                continue;
+            if (consequentError[r] != null)
+                throw new RuntimeException(consequentError[r]);
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int o = consequentSlot[k];
+                weightTotals[o] += strength;
+                for (int c = 0; c < width; c++) {
+                    double coefficient = consequentCoefficients[k * width + c];
+                    if (coefficient != 0)
+                        coefficientTotals[o * width + c] += strength * coefficient;
+                }
+            }
+        }
+
+        for (int o = 0; o < n; o++) {
+            fired[o] = weightTotals[o] != 0;
+            if (!fired[o]) {
+                output[o] = 0.0;
+                continue;
+            }
+            double sum = coefficientTotals[o * width];
+            for (int c = 1; c < width; c++) {
+                double total = coefficientTotals[o * width + c];
+                if (total != 0)
+                    sum += total * inputValues[c - 1];
+            }
+            output[o] = sum / weightTotals[o];
+        }
+    }
+
+    /**
+     * Collects, in rule order, the rules whose antecedent sets are active into workspace.candidates
+     * and returns how many there are. Rules left out would have a firing strength of 0.
+     */
+    private int activeRules(double[] memberships, Workspace workspace) {
+        int[] hits = workspace.hits;
+        int[] stamp = workspace.stamp;
+        int[] candidates = workspace.candidates;
+
+        if (workspace.epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            workspace.epoch = 0;
+        }
+        int epoch = ++workspace.epoch;
+
+        int count = 0;
+        for (int s = 0; s < inputSets.length; s++) {
+            if (!(memberships[s] > 0.0))
+                continue;
+            for (int k = slotRuleStart[s]; k < slotRuleStart[s + 1]; k++) {
+                int r = slotRules[k];
+                // Stamps stand in for clearing hits[] on every call
+                if (stamp[r] != epoch) {
+                    stamp[r] = epoch;
+                    hits[r] = 0;
+                }
+                if (++hits[r] == requiredHits[r])
+                    candidates[count++] = r;
+            }
+        }
+        for (int r : unindexedRules)
+            candidates[count++] = r;
+
+        Arrays.sort(candidates, 0, count);
+        return count;
+    }
+
+    /** Scratch space for single-record inference. Not thread-safe: use one per thread. */
+    public Workspace newWorkspace() {
+        return new Workspace(rules.length, outputs.length,
+                consequentCoefficients == null ? 0 : outputs.length * (inputs.length + 1));
+    }
+
+    public static final class Workspace {
+        private final int[] hits;
+        private final int[] stamp;
+        private final int[] candidates;
+        private final double[] weightTotals;
+        private final double[] coefficientTotals;
+        private int epoch;
+
+        private Workspace(int rules, int outputs, int coefficients) {
+            this.hits = new int[rules];
+            this.stamp = new int[rules];
+            this.candidates = new int[rules];
+            this.weightTotals = new double[outputs];
+            this.coefficientTotals = new double[coefficients];
+        }
+    }
+
+    /* =========================
+       Batch evaluation
+       =========================
+       Batch arrays are slot-major: the value of slot s for record j of an n-record batch
+       is at [s * n + j], so every inner loop runs over one contiguous column. */
+
+    /** Fuzzifies xs[from, from + n) for one input into its slots of a slot-major membership array. */
+    public void fuzzifyBatch(int input, double[] xs, int from, int n, double[] memberships) {
+        for (int s = setStart[input], end = setStart[input + 1]; s < end; s++)
+            inputSets[s].getMembershipFunction().compute(xs, from, memberships, s * n, n);
+    }
+
+    /**
+     * Firing strengths of rule r for all n records, written to strength[0, n).
+     * Returns false, without touching strength, when the rule is disabled.
+     */
+    public boolean ruleStrengthBatch(int r, double[] memberships, int n, double[] strength) {
+        if (!isEnabled(r))
+            return false;
+        if (antecedentError[r] != null)
+            throw new RuntimeException(antecedentError[r]);
+
+        int t = termStart[r];
+        int end = termStart[r + 1];
+        if (t == end) {
+            Arrays.fill(strength, 0, n, 0.0);
+            return true;
+        }
+
+        System.arraycopy(memberships, termSlot[t] * n, strength, 0, n);
+        for (t++; t < end; t++) {
+            int base = termSlot[t] * n;
+            if (termOr[t])
+                combine(orOperator, strength, memberships, base, n);
+            else
+                combine(andOperator, strength, memberships, base, n);
+        }
+
+        double weight = weight(r);
+        if (weight != 1.0)
+            for (int j = 0; j < n; j++)
+                strength[j] *= weight;
+        return true;
+    }
+
+    /** strength[j] = op(strength[j], memberships[base + j]), with plain loops for the built-in operators. */
+    private static void combine(Object op, double[] strength, double[] memberships, int base, int n) {
+        if (op instanceof MinTNorm) {
+            for (int j = 0; j < n; j++)
+                strength[j] = Math.min(strength[j], memberships[base + j]);
+        } else if (op instanceof ProductTNorm) {
+            for (int j = 0; j < n; j++)
+                strength[j] = strength[j] * memberships[base + j];
+        } else if (op instanceof MaxSNorm) {
+            for (int j = 0; j < n; j++)
+                strength[j] = Math.max(strength[j], memberships[base + j]);
+        } else if (op instanceof TNorm tNorm) {
+            for (int j = 0; j < n; j++)
+                strength[j] = tNorm.apply(strength[j], memberships[base + j]);
+        } else {
+            SNorm sNorm = (SNorm) op;
+            for (int j = 0; j < n; j++)
+                strength[j] = sNorm.apply(strength[j], memberships[base + j]);
+        }
+    }
+
+    /**
+     * Mamdani inference for n records. activation and touched are output-set-major
+     * ({@link #outputSetCount()} x n) and follow {@link #inferMamdani} per record.
+     * strength is scratch space of at least n values.
+     */
+    public void inferMamdaniBatch(double[] memberships, int n, double[] activation, boolean[] touched,
+                                  double[] strength) {
+        int size = outputSets.length * n;
+        Arrays.fill(activation, 0, size, 0.0);
+        Arrays.fill(touched, 0, size, false);
+
+        boolean clip = implication instanceof MinImplication || implication instanceof ProductImplication;
+
+        for (int r = 0; r < rules.length; r++) {
+            if (!ruleStrengthBatch(r, memberships, n, strength))
+                continue;
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int base = consequentSlot[k] * n;
+                for (int j = 0; j < n; j++) {
+                    double st = strength[j];
+                    if (st <= 0.0)
+                        continue;
+                    // min(s, 1) and s * 1 are both s for firing strengths
+                    double implied = clip && st <= 1.0 ? st : implication.apply(st, 1.0);
+                    activation[base + j] = aggregation.apply(activation[base + j], implied);
+                    touched[base + j] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Zero-order Sugeno inference for n records. output is output-major ({@link #outputCount()} x n)
+     * and holds NaN for records where no rule concluded that output. strength and weightTotals
+     * are scratch space of at least n and outputCount() x n values.
+     */
+    public void inferSugenoBatch(double[] memberships, int n, double[] output,
+                                 double[] strength, double[] weightTotals) {
+        if (consequentCoefficients != null)
+            throw new IllegalStateException("First-order Sugeno rules need the crisp input columns.");
+        int size = outputs.length * n;
+        Arrays.fill(output, 0, size, 0.0);
+        Arrays.fill(weightTotals, 0, size, 0.0);
+
+        for (int r = 0; r < rules.length; r++) {
+            if (!ruleStrengthBatch(r, memberships, n, strength))
+                continue;
+
+            if (consequentError[r] != null) {
+                for (int j = 0; j < n; j++)
+                    if (strength[j] > 0)
+                        throw new RuntimeException(consequentError[r]);
+            }
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int base = consequentSlot[k] * n;
+                double value = consequentValue[k];
+                for (int j = 0; j < n; j++) {
+                    double st = strength[j];
+                    if (st > 0) {
+                        output[base + j] += st * value;
+                        weightTotals[base + j] += st;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++)
+            output[i] = weightTotals[i] != 0 ? output[i] / weightTotals[i] : Double.NaN;
+    }
+
+    /**
+     * Sugeno inference for records [from, from + n) of the input columns (indexed like the
+     * plan's inputs; null for a missing input), as needed by first-order consequents. Follows
+     * {@link #inferSugeno(double[], double[], double[], boolean[], Workspace)} per record, with
+     * the per-output coefficient rows kept column-wise in coefficientTotals: at least
+     * outputCount() x (inputCount() + 1) x n values. For zero-order plans coefficientTotals
+     * may be null and this is the same as {@link #inferSugenoBatch(double[], int, double[], double[], double[])}.
+     */
+    public void inferSugenoBatch(double[] memberships, double[][] columns, int from, int n, double[] output,
+                                 double[] strength, double[] weightTotals, double[] coefficientTotals) {
+        if (consequentCoefficients == null) {
+            inferSugenoBatch(memberships, n, output, strength, weightTotals);
+            return;
+        }
+
+        int width = inputs.length + 1;
+        int size = outputs.length * n;
+        Arrays.fill(weightTotals, 0, size, 0.0);
+        Arrays.fill(coefficientTotals, 0, size * width, 0.0);
+
+        for (int r = 0; r < rules.length; r++) {
+            if (!ruleStrengthBatch(r, memberships, n, strength))
+                continue;
+
+            if (consequentError[r] != null) {
+                for (int j = 0; j < n; j++)
+                    if (strength[j] > 0)
+                        throw new RuntimeException(consequentError[r]);
+            }
+
+            for (int k = consequentStart[r]; k < consequentStart[r + 1]; k++) {
+                int o = consequentSlot[k];
+                int base = o * n;
+                for (int j = 0; j < n; j++)
+                    if (strength[j] > 0)
+                        weightTotals[base + j] += strength[j];
+
+                for (int c = 0; c < width; c++) {
+                    double coefficient = consequentCoefficients[k * width + c];
+                    if (coefficient == 0)
+                        continue;
+                    int row = (o * width + c) * n;
+                    for (int j = 0; j < n; j++) {
+                        double st = strength[j];
+                        if (st > 0)
+                            coefficientTotals[row + j] += st * coefficient;
+                    }
+                }
+            }
+        }
+
+        // One dot product per output and record: (c0, c1..cn) . (1, x1..xn) / total strength
+        for (int o = 0; o < outputs.length; o++) {
+            int base = o * n;
+            System.arraycopy(coefficientTotals, o * width * n, output, base, n);
+            for (int c = 1; c < width; c++) {
+                int row = (o * width + c) * n;
+                double[] xs = columns[c - 1];
+                for (int j = 0; j < n; j++) {
+                    double total = coefficientTotals[row + j];
+                    if (total != 0)
+                        output[base + j] += total * xs[from + j];
+                }
+            }
+            for (int j = 0; j < n; j++)
+                output[base + j] = weightTotals[base + j] != 0 ? output[base + j] / weightTotals[base + j] : Double.NaN;
+        }
+    }
+
+    /** Minimal growable int array, to keep compile-time bookkeeping unboxed. */
+    private static final class IntList {
+        private int[] data = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length)
+                data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int get(int index) {
+            return data[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -27,6 +27,21 @@ public class MamdaniInference {
         this.aggregation = aggregation;
     }
 
+    /** Lowers the rule base into an index-based plan that infers with these operators. */
+    public InferencePlan compile(RuleBase ruleBase) {
+        return compile(ruleBase, false);
+    }
+
+    /** As {@link #compile(RuleBase)}; a frozen plan also captures rule enabled flags and weights. */
+    public InferencePlan compile(RuleBase ruleBase, boolean frozen) {
+        return InferencePlan.mamdani(ruleBase, andOperator, orOperator, implication, aggregation, frozen);
+    }
+
+    /**
+     * Reference, map-based inference. Compiled plans produce the same sets and strengths in a
+     * {@link MamdaniResult} backed by primitive arrays, without maps or boxing
+     * (see {@link InferencePlan#inferMamdani(double[], MamdaniResult, InferencePlan.Workspace)}).
+     */
     public Map<LinguisticVariable, Map<FuzzySet, Double>> infer(
             Map<LinguisticVariable, Map<FuzzySet, Double>> fuzzifiedInputs,
             RuleBase ruleBase) {
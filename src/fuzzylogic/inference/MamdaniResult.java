@@ -0,0 +1,101 @@
+package fuzzylogic.inference;
+
+import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mamdani inference result backed by primitive arrays, in the output-set slot layout of an
+ * {@link InferencePlan}: output o owns slots [{@link #firstSet}(o), {@link #endSet}(o)), and
+ * each slot holds the aggregated strength of one output set plus whether any fired rule
+ * concluded it. Filled by {@link InferencePlan#inferMamdani(double[], MamdaniResult, InferencePlan.Workspace)}
+ * and read by {@link fuzzylogic.defuzzification.Defuzzifier#defuzzify(MamdaniResult, int)},
+ * so a multi-output controller runs without maps or boxed doubles.
+ *
+ * Reusable across evaluations of the same plan. Not thread-safe: use one per thread.
+ */
+public final class MamdaniResult {
+
+    private final InferencePlan plan;
+    final double[] activation;
+    final boolean[] touched;
+
+    public MamdaniResult(InferencePlan plan) {
+        this.plan = plan;
+        this.activation = new double[plan.outputSetCount()];
+        this.touched = new boolean[plan.outputSetCount()];
+    }
+
+    public InferencePlan getPlan() {
+        return plan;
+    }
+
+    public int outputCount() {
+        return plan.outputCount();
+    }
+
+    public LinguisticVariable outputVariable(int output) {
+        return plan.outputVariable(output);
+    }
+
+    public int firstSet(int output) {
+        return plan.firstOutputSet(output);
+    }
+
+    public int endSet(int output) {
+        return plan.endOutputSet(output);
+    }
+
+    public FuzzySet set(int slot) {
+        return plan.outputSet(slot);
+    }
+
+    /** Aggregated strength of the output set in this slot; 0 when it was not concluded. */
+    public double activation(int slot) {
+        return activation[slot];
+    }
+
+    /** True if at least one fired rule concluded the output set in this slot. */
+    public boolean isTouched(int slot) {
+        return touched[slot];
+    }
+
+    /** True if at least one fired rule concluded some set of this output. */
+    public boolean hasOutput(int output) {
+        for (int s = firstSet(output), end = endSet(output); s < end; s++)
+            if (touched[s])
+                return true;
+        return false;
+    }
+
+    /**
+     * Loads record j of an n-record batch, as written by {@link InferencePlan#inferMamdaniBatch}
+     * into its slot-major activation and touched arrays.
+     */
+    public void loadRecord(double[] batchActivation, boolean[] batchTouched, int n, int j) {
+        for (int s = 0; s < activation.length; s++) {
+            activation[s] = batchActivation[s * n + j];
+            touched[s] = batchTouched[s * n + j];
+        }
+    }
+
+    /** The concluded sets of one output with their strengths, as in {@link MamdaniInference#infer}. */
+    public Map<FuzzySet, Double> toMap(int output) {
+        Map<FuzzySet, Double> sets = new HashMap<>();
+        for (int s = firstSet(output), end = endSet(output); s < end; s++)
+            if (touched[s])
+                sets.put(set(s), activation[s]);
+        return sets;
+    }
+
+    /** Map form of the whole result, equal to what {@link MamdaniInference#infer} returns. */
+    public Map<LinguisticVariable, Map<FuzzySet, Double>> toMap() {
+        Map<LinguisticVariable, Map<FuzzySet, Double>> outputs = new HashMap<>();
+        for (int o = 0; o < outputCount(); o++)
+            if (hasOutput(o))
+                outputs.put(outputVariable(o), toMap(o));
+        return outputs;
+    }
+}
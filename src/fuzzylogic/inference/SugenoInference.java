@@ -20,8 +20,30 @@ public class SugenoInference {
         this.orOperator = orOperator;
     }
 
+    /** Lowers the rule base into an index-based plan that infers with these operators. */
+    public InferencePlan compile(RuleBase ruleBase) {
+        return compile(ruleBase, false);
+    }
+
+    /** As {@link #compile(RuleBase)}; a frozen plan also captures rule enabled flags and weights. */
+    public InferencePlan compile(RuleBase ruleBase, boolean frozen) {
+        return InferencePlan.sugeno(ruleBase, andOperator, orOperator, frozen);
+    }
+
+    /** Zero-order inference: fails if a fired rule has a first-order consequent, which needs input values. */
+    public Map<LinguisticVariable, Double> infer(
+            Map<LinguisticVariable, Map<FuzzySet, Double>> fuzzifiedInputs,
+            RuleBase ruleBase) {
+        return infer(fuzzifiedInputs, null, ruleBase);
+    }
+
+    /**
+     * Weighted average of the consequents of the fired rules. First-order consequents are
+     * evaluated at inputValues, the crisp values the inputs were fuzzified from.
+     */
     public Map<LinguisticVariable, Double> infer(
             Map<LinguisticVariable, Map<FuzzySet, Double>> fuzzifiedInputs,
+            Map<LinguisticVariable, Double> inputValues,
             RuleBase ruleBase) {
 
         Map<LinguisticVariable, Double> weightedSums = new HashMap<>();
@@ -41,7 +63,7 @@ public class SugenoInference {
 
                 SugenoConsequent sc = (SugenoConsequent) c;
                 LinguisticVariable outVar = sc.getOutputVariable();
-                double value = sc.getValue();
+                double value = sc.getValue(inputValues);
 
                 weightedSums.put(outVar,
                         weightedSums.getOrDefault(outVar, 0.0) + ruleStrength * value);
@@ -0,0 +1,56 @@
+package fuzzylogic.membership;
+
+/** Generalized bell: 1 / (1 + |(x - c) / a|^(2b)). a sets the width, b the steepness of the flanks. */
+public class BellMF implements IntegrableMF {
+
+    private final double a, b, c;
+    private final double exponent;
+
+    public BellMF(double a, double b, double c) {
+        if (!(a > 0) || !(b > 0)) {
+            throw new IllegalArgumentException("Bell MF requires a > 0 and b > 0");
+        }
+
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.exponent = 2 * b;
+    }
+
+    @Override
+    public double compute(double x) {
+        return 1.0 / (1.0 + Math.pow(Math.abs((x - c) / a), exponent));
+    }
+
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            double t = Math.abs((xs[from + i] - c) / a);
+            out[outOffset + i] = 1.0 / (1.0 + Math.pow(t, exponent));
+        }
+    }
+
+    /** 2a * (pi / 2b) / sin(pi / 2b); infinite when b <= 1/2, where the flanks decay too slowly. */
+    @Override
+    public double area() {
+        if (b <= 0.5) return Double.POSITIVE_INFINITY;
+        double k = Math.PI / exponent;
+        return 2 * a * k / Math.sin(k);
+    }
+
+    /** c by symmetry; NaN when b <= 1, where the first moment does not converge. */
+    @Override
+    public double centroid() {
+        return b > 1 ? c : Double.NaN;
+    }
+
+    @Override
+    public String getName() {
+        return "Bell(" + a + "," + b + "," + c + ")";
+    }
+
+    @Override
+    public MembershipFunction copy() {
+        return new BellMF(a, b, c);
+    }
+}
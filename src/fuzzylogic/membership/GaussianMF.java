@@ -0,0 +1,51 @@
+package fuzzylogic.membership;
+
+public class GaussianMF implements IntegrableMF {
+
+    private final double mean, sigma;
+    private final double inverseTwoVariance;
+
+    public GaussianMF(double mean, double sigma) {
+        if (!(sigma > 0)) {
+            throw new IllegalArgumentException("Gaussian MF requires sigma > 0");
+        }
+
+        this.mean = mean;
+        this.sigma = sigma;
+        this.inverseTwoVariance = 1.0 / (2 * sigma * sigma);
+    }
+
+    @Override
+    public double compute(double x) {
+        double d = x - mean;
+        return Math.exp(-d * d * inverseTwoVariance);
+    }
+
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            double d = xs[from + i] - mean;
+            out[outOffset + i] = Math.exp(-d * d * inverseTwoVariance);
+        }
+    }
+
+    @Override
+    public double area() {
+        return sigma * Math.sqrt(2 * Math.PI);
+    }
+
+    @Override
+    public double centroid() {
+        return mean;
+    }
+
+    @Override
+    public String getName() {
+        return "Gaussian(" + mean + "," + sigma + ")";
+    }
+
+    @Override
+    public MembershipFunction copy() {
+        return new GaussianMF(mean, sigma);
+    }
+}
@@ -0,0 +1,13 @@
+package fuzzylogic.membership;
+
+/**
+ * A membership function with a closed-form area and centroid over the whole real line,
+ * i.e. the integral of mu(x) and the mean of x weighted by mu(x).
+ *
+ * These describe the unclipped shape. Defuzzifiers work on the clipped, aggregated output,
+ * which has no closed form in general, so they only read {@link #centroid()} of singletons.
+ */
+public interface IntegrableMF extends MembershipFunction {
+    double area();
+    double centroid();
+}
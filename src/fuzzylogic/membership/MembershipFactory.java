@@ -17,6 +17,30 @@ public class MembershipFactory {
                 yield new TrapezoidalMF(params[0], params[1], params[2], params[3]);
             }
 
+            case "gaussian" -> {
+                if (params.length != 2)
+                    throw new IllegalArgumentException("Gaussian MF requires 2 parameters (mean, sigma)");
+                yield new GaussianMF(params[0], params[1]);
+            }
+
+            case "bell" -> {
+                if (params.length != 3)
+                    throw new IllegalArgumentException("Bell MF requires 3 parameters (a, b, c)");
+                yield new BellMF(params[0], params[1], params[2]);
+            }
+
+            case "sigmoid" -> {
+                if (params.length != 2)
+                    throw new IllegalArgumentException("Sigmoid MF requires 2 parameters (a, c)");
+                yield new SigmoidMF(params[0], params[1]);
+            }
+
+            case "singleton" -> {
+                if (params.length != 1)
+                    throw new IllegalArgumentException("Singleton MF requires 1 parameter");
+                yield new SingletonMF(params[0]);
+            }
+
             default -> throw new IllegalArgumentException("Invalid MF type: " + type);
         };
     }
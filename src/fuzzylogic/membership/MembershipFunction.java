@@ -4,4 +4,15 @@ public interface MembershipFunction {
     double compute(double x);
     String getName();
     MembershipFunction copy();
+
+    /** out[i] = compute(xs[i]) for every element of xs. */
+    default void compute(double[] xs, double[] out) {
+        compute(xs, 0, out, 0, xs.length);
+    }
+
+    /** out[outOffset + i] = compute(xs[from + i]) for i in [0, n). Implementations override this with a tight loop. */
+    default void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOffset + i] = compute(xs[from + i]);
+    }
 }
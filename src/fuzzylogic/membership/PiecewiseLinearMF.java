@@ -0,0 +1,11 @@
+package fuzzylogic.membership;
+
+import java.util.List;
+
+/**
+ * A membership function made of straight {@link LineSegment}s and zero everywhere else.
+ * Defuzzifiers use the segments to integrate clipped output sets in closed form.
+ */
+public interface PiecewiseLinearMF extends MembershipFunction {
+    List<LineSegment> getSegments();
+}
@@ -0,0 +1,51 @@
+package fuzzylogic.membership;
+
+/**
+ * Sigmoid: 1 / (1 + e^(-a (x - c))). Positive a opens to the right, negative a to the left.
+ * Its area over the real line is unbounded, so it is not an {@link IntegrableMF};
+ * {@link #area(double, double)} gives the closed form over a finite interval.
+ */
+public class SigmoidMF implements MembershipFunction {
+
+    private final double a, c;
+
+    public SigmoidMF(double a, double c) {
+        if (a == 0 || Double.isNaN(a)) {
+            throw new IllegalArgumentException("Sigmoid MF requires a non-zero slope");
+        }
+
+        this.a = a;
+        this.c = c;
+    }
+
+    @Override
+    public double compute(double x) {
+        return 1.0 / (1.0 + Math.exp(-a * (x - c)));
+    }
+
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOffset + i] = 1.0 / (1.0 + Math.exp(-a * (xs[from + i] - c)));
+    }
+
+    /** Integral of mu over [from, to]: the antiderivative is ln(1 + e^(a (x - c))) / a. */
+    public double area(double from, double to) {
+        return (softplus(a * (to - c)) - softplus(a * (from - c))) / a;
+    }
+
+    // ln(1 + e^t) without overflow for large t
+    private static double softplus(double t) {
+        return t > 0 ? t + Math.log1p(Math.exp(-t)) : Math.log1p(Math.exp(t));
+    }
+
+    @Override
+    public String getName() {
+        return "Sigmoid(" + a + "," + c + ")";
+    }
+
+    @Override
+    public MembershipFunction copy() {
+        return new SigmoidMF(a, c);
+    }
+}
@@ -0,0 +1,51 @@
+package fuzzylogic.membership;
+
+/**
+ * Membership 1 at exactly one point and 0 elsewhere. Meant for crisp input categories
+ * and for crisp outputs: when every concluded set of an output is a singleton, the built-in
+ * defuzzifiers work from the points and strengths (a strength-weighted mean for centroid).
+ * An output mixing singleton and continuous sets is rejected.
+ */
+public class SingletonMF implements IntegrableMF {
+
+    private final double x0;
+
+    public SingletonMF(double x0) {
+        if (Double.isNaN(x0) || Double.isInfinite(x0)) {
+            throw new IllegalArgumentException("Singleton MF requires a finite point");
+        }
+
+        this.x0 = x0;
+    }
+
+    @Override
+    public double compute(double x) {
+        return x == x0 ? 1 : 0;
+    }
+
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++)
+            out[outOffset + i] = xs[from + i] == x0 ? 1 : 0;
+    }
+
+    @Override
+    public double area() {
+        return 0;
+    }
+
+    @Override
+    public double centroid() {
+        return x0;
+    }
+
+    @Override
+    public String getName() {
+        return "Singleton(" + x0 + ")";
+    }
+
+    @Override
+    public MembershipFunction copy() {
+        return new SingletonMF(x0);
+    }
+}
@@ -1,13 +1,17 @@
 package fuzzylogic.membership;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-public class TrapezoidalMF implements MembershipFunction {
+public class TrapezoidalMF implements PiecewiseLinearMF, IntegrableMF {
 
     private final double a, b, c, d;
     private final List<LineSegment> segments = new ArrayList<>();
 
+    // Rising and falling edges as y = m * x + c, copied out of the segments
+    private double m1, c1, m2, c2;
+
     public TrapezoidalMF(double a, double b, double c, double d) {
         if (!(a <= b && b <= c && c <= d)) {
             throw new IllegalArgumentException("Trapezoidal MF requires a <= b <= c <= d");
@@ -31,6 +35,8 @@ public class TrapezoidalMF implements MembershipFunction {
             double m1 = 1.0 / (b - a);
             double c1 = -a * m1;
             segments.add(new LineSegment(a, b, m1, c1));
+            this.m1 = m1;
+            this.c1 = c1;
         }
 
         if (c > b) {
@@ -41,6 +47,8 @@ public class TrapezoidalMF implements MembershipFunction {
             double m2 = -1.0 / (d - c);
             double c2 = 1.0 - m2 * c;
             segments.add(new LineSegment(c, d, m2, c2));
+            this.m2 = m2;
+            this.c2 = c2;
         }
     }
 
@@ -48,13 +56,40 @@ public class TrapezoidalMF implements MembershipFunction {
     public double compute(double x) {
         if (x <= a || x >= d) return 0;
         if (x >= b && x <= c) return 1; // plateau
+        // Same m * x + c arithmetic as the segments, without scanning them
+        return x < b ? m1 * x + c1 : m2 * x + c2;
+    }
 
-        for (LineSegment seg : segments) {
-            if (x >= seg.startX && x <= seg.endX) {
-                return seg.compute(x);
-            }
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = xs[from + i];
+            double y;
+            if (x <= a || x >= d) y = 0;
+            else if (x >= b && x <= c) y = 1;
+            else y = x < b ? m1 * x + c1 : m2 * x + c2;
+            out[outOffset + i] = y;
         }
-        return 0;
+    }
+
+    @Override
+    public List<LineSegment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    @Override
+    public double area() {
+        return ((d - a) + (c - b)) / 2.0;
+    }
+
+    /** Sum of the centroids of the rising edge, plateau and falling edge, weighted by their areas. */
+    @Override
+    public double centroid() {
+        double rise = (b - a) / 2.0;
+        double top = c - b;
+        double fall = (d - c) / 2.0;
+        return (rise * (a + 2 * b) / 3.0 + top * (b + c) / 2.0 + fall * (2 * c + d) / 3.0)
+                / (rise + top + fall);
     }
 
     @Override
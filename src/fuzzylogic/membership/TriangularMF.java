@@ -1,13 +1,17 @@
 package fuzzylogic.membership;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-public class TriangularMF implements MembershipFunction {
+public class TriangularMF implements PiecewiseLinearMF, IntegrableMF {
 
     private final double a, b, c;
     private final List<LineSegment> segments = new ArrayList<>();
 
+    // Rising and falling edges as y = m * x + c, copied out of the segments
+    private double m1, c1, m2, c2;
+
     public TriangularMF(double a, double b, double c) {
         if (!(a <= b && b <= c)) {
             throw new IllegalArgumentException("Triangular MF requires a <= b <= c");
@@ -29,12 +33,16 @@ public class TriangularMF implements MembershipFunction {
             double m1 = 1.0 / (b - a);
             double c1 = -a * m1;
             segments.add(new LineSegment(a, b, m1, c1));
+            this.m1 = m1;
+            this.c1 = c1;
         }
 
         if (c > b) {
             double m2 = -1.0 / (c - b);
             double c2 = 1.0 - m2 * b;
             segments.add(new LineSegment(b, c, m2, c2));
+            this.m2 = m2;
+            this.c2 = c2;
         }
     }
 
@@ -42,13 +50,35 @@ public class TriangularMF implements MembershipFunction {
     public double compute(double x) {
         if (x <= a || x >= c) return 0;
         if (x == b) return 1;
+        // Same m * x + c arithmetic as the segments, without scanning them
+        return x < b ? m1 * x + c1 : m2 * x + c2;
+    }
 
-        for (LineSegment seg : segments) {
-            if (x >= seg.startX && x <= seg.endX) {
-                return seg.compute(x);
-            }
+    @Override
+    public void compute(double[] xs, int from, double[] out, int outOffset, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = xs[from + i];
+            double y;
+            if (x <= a || x >= c) y = 0;
+            else if (x == b) y = 1;
+            else y = x < b ? m1 * x + c1 : m2 * x + c2;
+            out[outOffset + i] = y;
         }
-        return 0;
+    }
+
+    @Override
+    public List<LineSegment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    @Override
+    public double area() {
+        return (c - a) / 2.0;
+    }
+
+    @Override
+    public double centroid() {
+        return (a + b + c) / 3.0;
     }
 
     @Override
@@ -16,11 +16,16 @@ public abstract class AbstractRuleParser {
         }
     }
 
+    /** Parses one rule. Implementations must be thread-safe: {@link RuleBase} may call them in parallel. */
     public abstract Rule parse(String ruleStr);
 
 
     protected List<String> tokenize(String ruleStr) {
-        return Arrays.asList(ruleStr.replace(",", " , ").trim().split("\\s+"));
+        List<String> tokens = new ArrayList<>();
+        RuleTokenizer tokenizer = new RuleTokenizer(ruleStr);
+        while (tokenizer.hasNext())
+            tokens.add(tokenizer.next());
+        return tokens;
     }
 
     protected LinguisticVariable getVariableByName(String name) {
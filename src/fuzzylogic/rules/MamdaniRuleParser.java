@@ -15,41 +15,35 @@ public class MamdaniRuleParser extends AbstractRuleParser {
     public Rule parse(String ruleStr) {
         Rule rule = new Rule();
 
-        List<String> tokens = tokenize(ruleStr);
-        int i = 0;
-        if (!tokens.get(i).equalsIgnoreCase("IF"))
-            throw new IllegalArgumentException("Rule must start with IF");
-
-        i++;
-
-        while (i < tokens.size() && !tokens.get(i).equalsIgnoreCase("THEN")) {
-            String varName = tokens.get(i++);
-            if (!tokens.get(i++).equalsIgnoreCase("IS"))
-                throw new IllegalArgumentException("Expected 'IS' after variable name");
-            String setLabel = tokens.get(i++);
+        RuleTokenizer tokens = new RuleTokenizer(ruleStr);
+        tokens.expect("IF", "Rule must start with IF");
+
+        while (tokens.hasNext() && !tokens.peekIs("THEN")) {
+            String varName = tokens.next();
+            tokens.expect("IS", "Expected 'IS' after variable name");
+            String setLabel = tokens.next();
             LinguisticVariable var = getVariableByName(varName);
             FuzzySet set = getFuzzySet(var, setLabel);
             rule.addAntecedent(new Antecedent(var, set.getLabel()));
 
-            if (i < tokens.size() && (tokens.get(i).equalsIgnoreCase("AND") || tokens.get(i).equalsIgnoreCase("OR"))) {
-                rule.addOperator(parseOperator(tokens.get(i++)));
+            if (tokens.peekIs("AND") || tokens.peekIs("OR")) {
+                rule.addOperator(parseOperator(tokens.next()));
             }
         }
 
-        if (i >= tokens.size() || !tokens.get(i).equalsIgnoreCase("THEN"))
+        if (!tokens.peekIs("THEN"))
             throw new IllegalArgumentException("Expected THEN keyword in rule");
 
-        i++;
+        tokens.next();
 
-        while (i < tokens.size()) {
-            if (tokens.get(i).equals(",")) {
-                i++;
+        while (tokens.hasNext()) {
+            if (tokens.peekIs(",")) {
+                tokens.next();
                 continue;
             }
-            String varName = tokens.get(i++);
-            if (!tokens.get(i++).equalsIgnoreCase("IS"))
-                throw new IllegalArgumentException("Expected 'IS' in consequent");
-            String setLabel = tokens.get(i++);
+            String varName = tokens.next();
+            tokens.expect("IS", "Expected 'IS' in consequent");
+            String setLabel = tokens.next();
             LinguisticVariable var = getVariableByName(varName);
             FuzzySet set = getFuzzySet(var, setLabel);
             rule.addConsequent(new MamdaniConsequent(var, set));
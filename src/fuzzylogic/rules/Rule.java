@@ -52,6 +52,17 @@ public class Rule {
         this.enabled = e;
     }
 
+    /** Independent copy: own lists, weight and enabled flag. Antecedents and consequents are immutable and shared. */
+    public Rule copy() {
+        Rule copy = new Rule();
+        copy.antecedents.addAll(antecedents);
+        copy.operators.addAll(operators);
+        copy.consequents.addAll(consequents);
+        copy.weight = weight;
+        copy.enabled = enabled;
+        return copy;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("IF ");
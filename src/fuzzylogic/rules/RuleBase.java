@@ -2,14 +2,30 @@ package fuzzylogic.rules;
 
 import java.io.*;
 import java.nio.file.*;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
 
 public class RuleBase {
 
-    private final List<Rule> rules = new ArrayList<>();
+    // Edited in place, except by commit, which swaps in a new list; volatile for that swap
+    private volatile List<Rule> rules = new ArrayList<>();
     private final AbstractRuleParser parser;
 
+    private static final int PARSE_CHUNK_LINES = 8192;
+
+    // Bumped on structural changes made through this class, so compiled plans know when to rebuild
+    private volatile int version = 0;
+
+    // Immutable list of the enabled rules, built by the writers and only read by getEnabledRules
+    private volatile EnabledRules enabledRules = EnabledRules.EMPTY;
+
+    // Set once a frozen engine is built from this rule base; every later edit then throws
+    private volatile boolean frozen;
+
     public RuleBase(AbstractRuleParser parser) {
         if (parser == null) {
             throw new IllegalArgumentException("RuleParser cannot be null");
@@ -18,31 +34,180 @@ public class RuleBase {
     }
 
     public void addRule(Rule rule) {
+        checkEditable();
         if (rule != null) {
             rules.add(rule);
+            added(rule);
         }
     }
 
     public void removeRule(int index) {
+        checkEditable();
         if (index >= 0 && index < rules.size()) {
             rules.remove(index);
+            changed();
         }
     }
 
     public void enableRule(int index) {
+        checkEditable();
         if (index >= 0 && index < rules.size()) {
             rules.get(index).setEnabled(true);
+            enabledChanged();
         }
     }
 
     public void disableRule(int index) {
+        checkEditable();
         if (index >= 0 && index < rules.size()) {
             rules.get(index).setEnabled(false);
+            enabledChanged();
+        }
+    }
+
+    /**
+     * Sets the weight of the rule at index; out-of-range indices are ignored. Compiled plans
+     * read weights live, so this is not a structural change and does not bump {@link #getVersion()}.
+     */
+    public void setRuleWeight(int index, double weight) {
+        checkEditable();
+        if (index >= 0 && index < rules.size()) {
+            rules.get(index).setWeight(weight);
         }
     }
 
+    /**
+     * Deep copy with the same parser: edits to the copy or its rules never reach this rule base.
+     * The copy is never frozen, so a frozen rule base can be copied and edited freely.
+     */
+    public RuleBase copy() {
+        RuleBase copy = new RuleBase(parser);
+        copy.rules.addAll(copyOf(rules));
+        copy.changed();
+        return copy;
+    }
+
+    /**
+     * Replaces all rules with copies of the rules of edited, usually a {@link #copy()} of this
+     * rule base with a batch of edits applied, as a single new version. The new rule list,
+     * enabled-rule snapshot and version are published together, so a plan compiled concurrently
+     * sees either the old rules or the whole batch. The rules it replaces are never modified,
+     * so plans still reading them live keep a consistent view until they recompile.
+     */
+    public void commit(RuleBase edited) {
+        checkEditable();
+        if (edited == null)
+            throw new IllegalArgumentException("Edited rule base cannot be null");
+        rules = copyOf(edited.rules);
+        changed();
+    }
+
+    /**
+     * Makes this rule base read-only: every later edit made through it throws
+     * IllegalStateException. A frozen {@code FuzzyEngine} calls this on the rule base it is
+     * built from, since it works on a private copy and would otherwise ignore those edits.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /** True once {@link #freeze()} has been called. */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkEditable() {
+        if (frozen)
+            throw new IllegalStateException(
+                    "Rule base is frozen: a frozen engine was built from it, so edit that engine's rules with updateRules");
+    }
+
+    private static List<Rule> copyOf(List<Rule> source) {
+        List<Rule> copies = new ArrayList<>(source.size());
+        for (Rule rule : source)
+            copies.add(rule.copy());
+        return copies;
+    }
+
+    /**
+     * Immutable snapshot of the enabled rules, shared by all callers without copying. Every
+     * change made through this rule base builds the new snapshot itself and publishes it with
+     * one volatile write, so readers never touch the rule list and always see a complete
+     * snapshot, never a partial one. Appending a rule extends the current snapshot in place
+     * of a rebuild, so adding many rules one by one stays linear. A rule toggled directly with
+     * {@link Rule#setEnabled} is only reflected after the next enable, disable, removal or
+     * reload made here, so prefer {@link #enableRule}/{@link #disableRule}.
+     */
     public List<Rule> getEnabledRules() {
-        return rules.stream().filter(Rule::isEnabled).toList();
+        return enabledRules;
+    }
+
+    // Called after each structural edit other than an append: rebuild the snapshot, then bump the version
+    private void changed() {
+        enabledChanged();
+        version++;
+    }
+
+    // Called after appending a rule
+    private void added(Rule rule) {
+        if (rule.isEnabled())
+            enabledRules = enabledRules.plus(rule);
+        version++;
+    }
+
+    // Called after enabling or disabling a rule: plans read the flag live, only the snapshot changes
+    private void enabledChanged() {
+        enabledRules = EnabledRules.of(rules);
+    }
+
+    /**
+     * Read-only view of the first size entries of an array. Appending writes the next free
+     * slot of a shared array, which no published snapshot can see, or copies into a larger
+     * one, so a snapshot never changes once published.
+     */
+    private static final class EnabledRules extends AbstractList<Rule> implements RandomAccess {
+        static final EnabledRules EMPTY = new EnabledRules(new Rule[0], 0);
+
+        private final Rule[] rules;
+        private final int size;
+
+        private EnabledRules(Rule[] rules, int size) {
+            this.rules = rules;
+            this.size = size;
+        }
+
+        static EnabledRules of(List<Rule> all) {
+            Rule[] enabled = all.stream().filter(Rule::isEnabled).toArray(Rule[]::new);
+            return new EnabledRules(enabled, enabled.length);
+        }
+
+        // Only called on the current snapshot, so the slot at size is still unused
+        EnabledRules plus(Rule rule) {
+            Rule[] target = size < rules.length ? rules : Arrays.copyOf(rules, Math.max(8, size * 2));
+            target[size] = rule;
+            return new EnabledRules(target, size + 1);
+        }
+
+        @Override
+        public Rule get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            return rules[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Changes whenever rules are added, removed, reloaded or committed through this rule base, i.e. when
+     * a compiled plan must be rebuilt. Enabling, disabling or reweighting a rule does not change
+     * it, since plans read enabled flags and weights live (frozen plans copy them instead).
+     */
+    public int getVersion() {
+        return version;
     }
 
     public List<Rule> getAllRules() {
@@ -58,23 +223,107 @@ public class RuleBase {
         }
     }
 
-    public void loadFromFile(String path) throws IOException {
-        rules.clear();
-        List<String> lines = Files.readAllLines(Paths.get(path));
-        for (String line : lines) {
-            if (!line.isBlank()) {
+    /** Same as {@link #loadFromFile(String, boolean)} on one thread. */
+    public List<RuleParseError> loadFromFile(String path) throws IOException {
+        return loadFromFile(path, false);
+    }
+
+    /**
+     * Replaces the rules with those in a text file, one rule per line. Blank lines are skipped.
+     * Lines that fail to parse are skipped too and returned as errors with their line numbers.
+     * The file is streamed, so memory use does not grow with the number of lines read.
+     */
+    public List<RuleParseError> loadFromFile(String path, boolean parallel) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path))) {
+            return load(reader, parallel);
+        }
+    }
+
+    /**
+     * Replaces the rules with those read from reader, one rule per line. Lines are read in
+     * chunks of {@value #PARSE_CHUNK_LINES}. With parallel, each chunk is parsed on the common
+     * fork-join pool, so the parser must be thread-safe, as the built-in ones are. Rules keep
+     * the file order either way, and only one chunk of lines is held in memory at a time.
+     * The new rules are swapped in once the whole input has been read, so an IOException
+     * leaves the current rules untouched.
+     */
+    public List<RuleParseError> load(Reader reader, boolean parallel) throws IOException {
+        checkEditable();
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<RuleParseError> errors = new ArrayList<>();
+
+        String[] lines = new String[PARSE_CHUNK_LINES];
+        Rule[] parsed = new Rule[PARSE_CHUNK_LINES];
+        String[] failures = new String[PARSE_CHUNK_LINES];
+        List<Rule> loaded = new ArrayList<>();
+
+        long lineNumber = 0;
+        int n;
+        do {
+            n = 0;
+            String line;
+            while (n < lines.length && (line = in.readLine()) != null)
+                lines[n++] = line;
+
+            IntStream chunk = IntStream.range(0, n);
+            (parallel ? chunk.parallel() : chunk).forEach(k -> {
+                parsed[k] = null;
+                failures[k] = null;
+                if (lines[k].isBlank())
+                    return;
                 try {
-                    rules.add(parser.parse(line));
+                    parsed[k] = parser.parse(lines[k]);
                 } catch (IllegalArgumentException e) {
-                    System.err.println("Skipping invalid rule: " + line + " -> " + e.getMessage());
+                    // Never null, so a failure without a message is still reported
+                    failures[k] = e.getMessage() != null ? e.getMessage() : e.toString();
                 }
+            });
+
+            for (int k = 0; k < n; k++) {
+                if (parsed[k] != null)
+                    loaded.add(parsed[k]);
+                else if (failures[k] != null)
+                    errors.add(new RuleParseError(lineNumber + k + 1, lines[k], failures[k]));
             }
-        }
+            lineNumber += n;
+        } while (n == lines.length);
+
+        rules.clear();
+        rules.addAll(loaded);
+        changed();
+        return errors;
+    }
+
+    /**
+     * Writes the rules in a compact binary form: variables and sets by index, plus a version
+     * header and a CRC32 checksum (see {@link RuleBinaryFormat}). Much faster to load than the
+     * text format, which stays available through {@link #saveToFile}/{@link #loadFromFile}.
+     */
+    public void saveToBinaryFile(String path) throws IOException {
+        RuleBinaryFormat.write(Paths.get(path), rules);
+    }
+
+    /**
+     * Replaces the rules with those of a file written by {@link #saveToBinaryFile}. The file is
+     * mapped and decoded in one pass, resolving variables and sets by name through this rule
+     * base's parser. Unlike the text loader it is all or nothing: a bad checksum, an unknown
+     * variable or set, or a newer format version throws IllegalArgumentException and leaves
+     * the current rules untouched.
+     */
+    public void loadFromBinaryFile(String path) throws IOException {
+        checkEditable();
+        List<Rule> loaded = RuleBinaryFormat.read(Paths.get(path), parser);
+        rules.clear();
+        rules.addAll(loaded);
+        changed();
     }
 
     public void addRuleFromString(String ruleStr) {
+        checkEditable();
         if (ruleStr == null || ruleStr.isBlank()) return;
-        rules.add(parser.parse(ruleStr));
+        Rule rule = parser.parse(ruleStr);
+        rules.add(rule);
+        added(rule);
     }
 
 }
@@ -0,0 +1,332 @@
+package fuzzylogic.rules;
+
+import fuzzylogic.variables.FuzzySet;
+import fuzzylogic.variables.LinguisticVariable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary rule base file, read back without any text parsing.
+ *
+ * Layout (little-endian): int magic {@code "FZRB"}, int version, then a schema of
+ * int variables, each with its name and its set labels (short length + UTF-8 bytes),
+ * then int rules, each as
+ * <pre>
+ * byte enabled, double weight,
+ * short antecedents, (short variable, short set) per antecedent,
+ * short operators, byte per operator (0 = AND, 1 = OR),
+ * short consequents, per consequent byte type then
+ *     MAMDANI:       short variable, short set
+ *     SUGENO:        short variable, double value
+ *     SUGENO_LINEAR: short variable, double constant, short terms,
+ *                    (short variable, double coefficient) per term
+ * </pre>
+ * and finally an int CRC32 of every byte before it. Version 1 files (no SUGENO_LINEAR)
+ * are still read.
+ *
+ * Variables and sets are stored by index into the schema. On load the schema is resolved
+ * once against the parser's variables by name and label, so the file survives reordered
+ * variables or sets. A missing variable fails the load; a missing set only fails it when
+ * some rule refers to that set.
+ */
+final class RuleBinaryFormat {
+
+    static final int MAGIC = 0x4252_5A46; // "FZRB" read as a little-endian int
+    static final int VERSION = 2;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private static final byte AND = 0;
+    private static final byte OR = 1;
+    private static final byte MAMDANI = 0;
+    private static final byte SUGENO = 1;
+    private static final byte SUGENO_LINEAR = 2;
+
+    private RuleBinaryFormat() {
+    }
+
+    static void write(Path path, List<Rule> rules) throws IOException {
+        // Schema: every variable the rules mention, in order of first use
+        Map<LinguisticVariable, Integer> variableIndex = new IdentityHashMap<>();
+        List<LinguisticVariable> variables = new ArrayList<>();
+        List<Map<String, Integer>> setIndex = new ArrayList<>();
+        for (Rule rule : rules) {
+            for (Antecedent a : rule.getAntecedents())
+                index(a.getVariable(), variableIndex, variables, setIndex);
+            for (Consequent c : rule.getConsequents()) {
+                index(outputVariable(c), variableIndex, variables, setIndex);
+                if (c instanceof SugenoConsequent sc)
+                    for (LinguisticVariable input : sc.getInputs())
+                        index(input, variableIndex, variables, setIndex);
+            }
+        }
+        if (variables.size() > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Too many variables for the binary format: " + variables.size());
+
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(variables.size());
+
+            for (LinguisticVariable variable : variables) {
+                List<FuzzySet> sets = variable.getSets();
+                buffer = putString(channel, buffer, crc, variable.getName());
+                buffer = ensure(channel, buffer, crc, Short.BYTES);
+                buffer.putShort((short) sets.size());
+                for (FuzzySet set : sets)
+                    buffer = putString(channel, buffer, crc, set.getLabel());
+            }
+
+            buffer = ensure(channel, buffer, crc, Integer.BYTES);
+            buffer.putInt(rules.size());
+
+            for (int r = 0; r < rules.size(); r++) {
+                Rule rule = rules.get(r);
+                List<Antecedent> antecedents = rule.getAntecedents();
+                List<LogicalOperator> operators = rule.getOperators();
+                List<Consequent> consequents = rule.getConsequents();
+                if (antecedents.size() > Short.MAX_VALUE || operators.size() > Short.MAX_VALUE
+                        || consequents.size() > Short.MAX_VALUE)
+                    throw new IllegalArgumentException("Rule " + r + " is too long for the binary format.");
+
+                int terms = 0;
+                for (Consequent c : consequents)
+                    if (c instanceof SugenoConsequent sc)
+                        terms += sc.getInputs().size();
+                if (terms > Short.MAX_VALUE)
+                    throw new IllegalArgumentException("Rule " + r + " is too long for the binary format.");
+
+                buffer = ensure(channel, buffer, crc, 1 + Double.BYTES + 3 * Short.BYTES
+                        + 2 * Short.BYTES * antecedents.size() + operators.size()
+                        + (1 + 2 * Short.BYTES + Double.BYTES) * consequents.size()
+                        + (Short.BYTES + Double.BYTES) * terms);
+
+                buffer.put((byte) (rule.isEnabled() ? 1 : 0));
+                buffer.putDouble(rule.getWeight());
+
+                buffer.putShort((short) antecedents.size());
+                for (Antecedent a : antecedents) {
+                    int v = variableIndex.get(a.getVariable());
+                    buffer.putShort((short) v);
+                    buffer.putShort((short) setOf(setIndex.get(v), a.getVariable(), a.getFuzzySetLabel(), r));
+                }
+
+                buffer.putShort((short) operators.size());
+                for (LogicalOperator op : operators)
+                    buffer.put(op == LogicalOperator.OR ? OR : AND);
+
+                buffer.putShort((short) consequents.size());
+                for (Consequent c : consequents) {
+                    if (c instanceof MamdaniConsequent mc) {
+                        int v = variableIndex.get(mc.getOutputVariable());
+                        buffer.put(MAMDANI);
+                        buffer.putShort((short) v);
+                        buffer.putShort((short) setOf(setIndex.get(v), mc.getOutputVariable(),
+                                mc.getFuzzySet().getLabel(), r));
+                    } else {
+                        SugenoConsequent sc = (SugenoConsequent) c;
+                        List<LinguisticVariable> inputs = sc.getInputs();
+                        buffer.put(inputs.isEmpty() ? SUGENO : SUGENO_LINEAR);
+                        buffer.putShort((short) (int) variableIndex.get(sc.getOutputVariable()));
+                        buffer.putDouble(sc.getValue());
+                        if (!inputs.isEmpty()) {
+                            buffer.putShort((short) inputs.size());
+                            for (int t = 0; t < inputs.size(); t++) {
+                                buffer.putShort((short) (int) variableIndex.get(inputs.get(t)));
+                                buffer.putDouble(sc.getCoefficient(t));
+                            }
+                        }
+                    }
+                }
+            }
+
+            flush(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue());
+            flush(channel, buffer, null);
+        }
+    }
+
+    /** Maps the whole file, checks its checksum and decodes every rule against the parser's variables. */
+    static List<Rule> read(Path path, AbstractRuleParser parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(path + " is too large for a rule base file.");
+            if (size < 3 * Integer.BYTES)
+                throw new IllegalArgumentException(path + " is not a binary rule base file.");
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC)
+                throw new IllegalArgumentException(path + " is not a binary rule base file.");
+            int version = buffer.getInt(Integer.BYTES);
+            if (version != 1 && version != VERSION)
+                throw new IllegalArgumentException(path + " has unsupported format version " + version);
+
+            int body = (int) size - Integer.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(body));
+            if ((int) crc.getValue() != buffer.getInt(body))
+                throw new IllegalArgumentException(path + " is corrupt: checksum mismatch.");
+
+            buffer.position(2 * Integer.BYTES).limit(body);
+            try {
+                return decode(buffer, parser);
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException(path + " is truncated.", e);
+            }
+        }
+    }
+
+    private static List<Rule> decode(ByteBuffer buffer, AbstractRuleParser parser) {
+        int variableCount = buffer.getInt();
+        LinguisticVariable[] variables = new LinguisticVariable[variableCount];
+        String[][] labels = new String[variableCount][];
+        FuzzySet[][] sets = new FuzzySet[variableCount][];
+        for (int v = 0; v < variableCount; v++) {
+            variables[v] = parser.getVariableByName(getString(buffer));
+            labels[v] = new String[buffer.getShort()];
+            sets[v] = new FuzzySet[labels[v].length];
+            for (int s = 0; s < labels[v].length; s++) {
+                labels[v][s] = getString(buffer);
+                // Null if the set is gone; only a rule that refers to it fails
+                sets[v][s] = variables[v].getFuzzySetByName(labels[v][s]);
+            }
+        }
+
+        int ruleCount = buffer.getInt();
+        List<Rule> rules = new ArrayList<>(ruleCount);
+        for (int r = 0; r < ruleCount; r++) {
+            Rule rule = new Rule();
+            rule.setEnabled(buffer.get() != 0);
+            rule.setWeight(buffer.getDouble());
+
+            int antecedents = buffer.getShort();
+            for (int k = 0; k < antecedents; k++) {
+                int v = buffer.getShort();
+                rule.addAntecedent(new Antecedent(variables[v], set(variables, labels, sets, v, buffer.getShort()).getLabel()));
+            }
+
+            int operators = buffer.getShort();
+            for (int k = 0; k < operators; k++)
+                rule.addOperator(buffer.get() == OR ? LogicalOperator.OR : LogicalOperator.AND);
+
+            int consequents = buffer.getShort();
+            for (int k = 0; k < consequents; k++) {
+                byte type = buffer.get();
+                int v = buffer.getShort();
+                if (type == MAMDANI) {
+                    rule.addConsequent(new MamdaniConsequent(variables[v], set(variables, labels, sets, v, buffer.getShort())));
+                } else if (type == SUGENO) {
+                    rule.addConsequent(new SugenoConsequent(variables[v], buffer.getDouble()));
+                } else if (type == SUGENO_LINEAR) {
+                    double constant = buffer.getDouble();
+                    int terms = buffer.getShort();
+                    List<LinguisticVariable> inputs = new ArrayList<>(terms);
+                    double[] coefficients = new double[terms];
+                    for (int t = 0; t < terms; t++) {
+                        inputs.add(variables[buffer.getShort()]);
+                        coefficients[t] = buffer.getDouble();
+                    }
+                    rule.addConsequent(new SugenoConsequent(variables[v], constant, inputs, coefficients));
+                } else {
+                    throw new IllegalArgumentException("Rule " + r + " has unknown consequent type " + type);
+                }
+            }
+            rules.add(rule);
+        }
+
+        if (buffer.hasRemaining())
+            throw new IllegalArgumentException("Unexpected " + buffer.remaining() + " bytes after the last rule.");
+        return rules;
+    }
+
+    private static FuzzySet set(LinguisticVariable[] variables, String[][] labels, FuzzySet[][] sets, int v, int s) {
+        if (sets[v][s] == null)
+            throw new IllegalArgumentException("Variable '" + variables[v].getName() +
+                    "' has no fuzzy set named '" + labels[v][s] + "'");
+        return sets[v][s];
+    }
+
+    private static void index(LinguisticVariable variable, Map<LinguisticVariable, Integer> variableIndex,
+                              List<LinguisticVariable> variables, List<Map<String, Integer>> setIndex) {
+        if (variableIndex.containsKey(variable))
+            return;
+        Map<String, Integer> labels = new HashMap<>();
+        List<FuzzySet> sets = variable.getSets();
+        for (int s = sets.size() - 1; s >= 0; s--) // the first of equal labels wins, as in getFuzzySetByName
+            labels.put(sets.get(s).getLabel().toLowerCase(), s);
+        variableIndex.put(variable, variables.size());
+        variables.add(variable);
+        setIndex.add(labels);
+    }
+
+    private static int setOf(Map<String, Integer> labels, LinguisticVariable variable, String label, int rule) {
+        Integer s = labels.get(label.toLowerCase());
+        if (s == null)
+            throw new IllegalArgumentException("Rule " + rule + ": variable '" + variable.getName() +
+                    "' has no fuzzy set named '" + label + "'");
+        return s;
+    }
+
+    private static LinguisticVariable outputVariable(Consequent c) {
+        if (c instanceof MamdaniConsequent mc)
+            return mc.getOutputVariable();
+        if (c instanceof SugenoConsequent sc)
+            return sc.getOutputVariable();
+        throw new IllegalArgumentException("Unsupported consequent: " + c.getClass().getName());
+    }
+
+    private static ByteBuffer putString(FileChannel channel, ByteBuffer buffer, CRC32 crc, String s)
+            throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Name too long for the binary format: " + s);
+        buffer = ensure(channel, buffer, crc, Short.BYTES + bytes.length);
+        buffer.putShort((short) bytes.length).put(bytes);
+        return buffer;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Flushes the buffer if fewer than {@code bytes} are free, growing it for records larger than itself. */
+    private static ByteBuffer ensure(FileChannel channel, ByteBuffer buffer, CRC32 crc, int bytes)
+            throws IOException {
+        if (buffer.remaining() >= bytes)
+            return buffer;
+        flush(channel, buffer, crc);
+        if (buffer.capacity() < bytes)
+            buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        if (crc != null)
+            crc.update(buffer.duplicate());
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package fuzzylogic.rules;
+
+/** A rule line that could not be parsed, as reported by {@link RuleBase#loadFromFile}. */
+public class RuleParseError {
+
+    private final long lineNumber;
+    private final String text;
+    private final String message;
+
+    public RuleParseError(long lineNumber, String text, String message) {
+        this.lineNumber = lineNumber;
+        this.text = text;
+        this.message = message;
+    }
+
+    /** 1-based line number in the file or reader. */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + lineNumber + ": " + message + " -> " + text;
+    }
+}
@@ -0,0 +1,76 @@
+package fuzzylogic.rules;
+
+/**
+ * Single-pass lexer over one rule. Tokens are runs of non-whitespace, except that a comma
+ * is always a token of its own, the same split as {@code replace(",", " , ").split("\\s+")}.
+ * Tokens are produced on demand, without a regex or an intermediate list.
+ *
+ * Running out of tokens throws IllegalArgumentException, like every other syntax error,
+ * so a truncated rule is reported instead of failing with an index error.
+ */
+public class RuleTokenizer {
+
+    private final CharSequence text;
+    private final int end;
+    private int pos;
+
+    public RuleTokenizer(CharSequence text) {
+        this(text, 0, text.length());
+    }
+
+    /** Tokenizes text[start, end). */
+    public RuleTokenizer(CharSequence text, int start, int end) {
+        this.text = text;
+        this.pos = start;
+        this.end = end;
+    }
+
+    public boolean hasNext() {
+        skipWhitespace();
+        return pos < end;
+    }
+
+    public String next() {
+        if (!hasNext())
+            throw new IllegalArgumentException("Unexpected end of rule");
+        int start = pos;
+        if (text.charAt(pos) == ',') {
+            pos++;
+        } else {
+            while (pos < end && !isDelimiter(text.charAt(pos)))
+                pos++;
+        }
+        return text.subSequence(start, pos).toString();
+    }
+
+    /** True if the next token equals word, ignoring case. Consumes nothing. */
+    public boolean peekIs(String word) {
+        if (!hasNext())
+            return false;
+        int n = word.length();
+        if (end - pos < n)
+            return false;
+        for (int k = 0; k < n; k++) {
+            char a = text.charAt(pos + k);
+            char b = word.charAt(k);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b))
+                return false;
+        }
+        return word.equals(",") || pos + n == end || isDelimiter(text.charAt(pos + n));
+    }
+
+    /** Consumes the next token, which must equal word (ignoring case). */
+    public void expect(String word, String message) {
+        if (!next().equalsIgnoreCase(word))
+            throw new IllegalArgumentException(message);
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || Character.isWhitespace(c);
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && Character.isWhitespace(text.charAt(pos)))
+            pos++;
+    }
+}
@@ -2,24 +2,76 @@ package fuzzylogic.rules;
 
 import fuzzylogic.variables.LinguisticVariable;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sugeno (TSK) consequent. Zero-order: the output is the constant {@link #getValue()}.
+ * First-order: the output is {@code c0 + c1 * x1 + ... + cn * xn}, a linear function of
+ * crisp input values, with c0 = {@link #getValue()}.
+ */
 public class SugenoConsequent implements Consequent {
 
     private final LinguisticVariable outputVar;
     private final double crispValue;
 
+    // First-order terms: coefficients[i] multiplies the value of inputs[i]; both empty for zero-order
+    private final LinguisticVariable[] inputs;
+    private final double[] coefficients;
+
     public SugenoConsequent(LinguisticVariable outputVar, double crispValue) {
         this.outputVar = outputVar;
         this.crispValue = crispValue;
+        this.inputs = new LinguisticVariable[0];
+        this.coefficients = new double[0];
+    }
+
+    /** First-order consequent: constant + sum of coefficients[i] * value of inputs.get(i). */
+    public SugenoConsequent(LinguisticVariable outputVar, double constant,
+                            List<LinguisticVariable> inputs, double[] coefficients) {
+        if (inputs.size() != coefficients.length)
+            throw new IllegalArgumentException("Expected " + inputs.size() + " coefficients, got " + coefficients.length);
+        this.outputVar = outputVar;
+        this.crispValue = constant;
+        this.inputs = inputs.toArray(new LinguisticVariable[0]);
+        this.coefficients = coefficients.clone();
     }
 
     public LinguisticVariable getOutputVariable() {
         return outputVar;
     }
 
+    /** The constant output of a zero-order consequent, or the constant term c0 of a first-order one. */
     public double getValue() {
         return crispValue;
     }
 
+    /** True if the output depends on input values. */
+    public boolean isFirstOrder() {
+        return inputs.length > 0;
+    }
+
+    /** Variables of the linear terms, in order. Empty for zero-order consequents. */
+    public List<LinguisticVariable> getInputs() {
+        return List.of(inputs);
+    }
+
+    public double getCoefficient(int term) {
+        return coefficients[term];
+    }
+
+    /** Output for the given crisp input values; these are only read by first-order consequents. */
+    public double getValue(Map<LinguisticVariable, Double> inputValues) {
+        double value = crispValue;
+        for (int i = 0; i < inputs.length; i++) {
+            Double x = inputValues == null ? null : inputValues.get(inputs[i]);
+            if (x == null)
+                throw new IllegalArgumentException("No input value for variable: " + inputs[i].getName());
+            value += coefficients[i] * x;
+        }
+        return value;
+    }
+
     @Override
     public ConsequentType getType() {
         return ConsequentType.SUGENO;
@@ -27,6 +79,11 @@ public class SugenoConsequent implements Consequent {
 
     @Override
     public String toString() {
-        return outputVar.getName() + " = " + crispValue;
+        StringBuilder sb = new StringBuilder(outputVar.getName()).append(" = ").append(crispValue);
+        for (int i = 0; i < inputs.length; i++) {
+            double c = coefficients[i];
+            sb.append(c < 0 ? " - " : " + ").append(c < 0 ? -c : c).append(" * ").append(inputs[i].getName());
+        }
+        return sb.toString();
     }
 }
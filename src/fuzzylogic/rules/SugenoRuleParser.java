@@ -2,6 +2,7 @@ package fuzzylogic.rules;
 
 import fuzzylogic.variables.LinguisticVariable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class SugenoRuleParser extends AbstractRuleParser {
@@ -13,48 +14,78 @@ public class SugenoRuleParser extends AbstractRuleParser {
     @Override
     public Rule parse(String ruleStr) {
         Rule rule = new Rule();
-        List<String> tokens = tokenize(ruleStr);
-        int i = 0;
-
-        if (!tokens.get(i).equalsIgnoreCase("IF"))
-            throw new IllegalArgumentException("Rule must start with IF");
-        i++;
-
-        while (i < tokens.size() && !tokens.get(i).equalsIgnoreCase("THEN")) {
-            String varName = tokens.get(i++);
-            if (!tokens.get(i++).equalsIgnoreCase("IS"))
-                throw new IllegalArgumentException("Expected 'IS' after variable name");
-            String setLabel = tokens.get(i++);
+        RuleTokenizer tokens = new RuleTokenizer(ruleStr);
+        tokens.expect("IF", "Rule must start with IF");
+
+        while (tokens.hasNext() && !tokens.peekIs("THEN")) {
+            String varName = tokens.next();
+            tokens.expect("IS", "Expected 'IS' after variable name");
+            String setLabel = tokens.next();
             LinguisticVariable var = getVariableByName(varName);
             rule.addAntecedent(new Antecedent(var, setLabel));
 
-            if (i < tokens.size() && (tokens.get(i).equalsIgnoreCase("AND") || tokens.get(i).equalsIgnoreCase("OR"))) {
-                rule.addOperator(parseOperator(tokens.get(i++)));
+            if (tokens.peekIs("AND") || tokens.peekIs("OR")) {
+                rule.addOperator(parseOperator(tokens.next()));
             }
         }
 
-        if (i >= tokens.size() || !tokens.get(i).equalsIgnoreCase("THEN"))
+        if (!tokens.peekIs("THEN"))
             throw new IllegalArgumentException("Expected THEN keyword in rule");
-        i++;
+        tokens.next();
 
-        while (i < tokens.size()) {
-            if (tokens.get(i).equals(",")) {
-                i++;
+        while (tokens.hasNext()) {
+            if (tokens.peekIs(",")) {
+                tokens.next();
                 continue;
             }
-            String varName = tokens.get(i++);
-            if (!tokens.get(i++).equals("="))
-                throw new IllegalArgumentException("Expected '=' in Sugeno consequent");
-            double value;
-            try {
-                value = Double.parseDouble(tokens.get(i++));
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Invalid numeric value in Sugeno consequent");
-            }
+            String varName = tokens.next();
+            tokens.expect("=", "Expected '=' in Sugeno consequent");
             LinguisticVariable var = getVariableByName(varName);
-            rule.addConsequent(new SugenoConsequent(var, value));
+            rule.addConsequent(parseLinear(var, tokens));
         }
 
         return rule;
     }
+
+    /**
+     * Right-hand side of a consequent: a constant ("Out = 42"), optionally followed by linear
+     * terms ("Out = 2 + 0.5 * Speed - 0.1 * Road"). A leading term may omit the constant
+     * ("Out = 0.5 * Speed"). Tokens are separated by spaces.
+     */
+    private SugenoConsequent parseLinear(LinguisticVariable output, RuleTokenizer tokens) {
+        List<LinguisticVariable> inputs = new ArrayList<>();
+        List<Double> coefficients = new ArrayList<>();
+
+        double constant = parseNumber(tokens.next());
+        if (tokens.peekIs("*")) {
+            tokens.next();
+            inputs.add(getVariableByName(tokens.next()));
+            coefficients.add(constant);
+            constant = 0.0;
+        }
+
+        while (tokens.peekIs("+") || tokens.peekIs("-")) {
+            double sign = tokens.next().equals("-") ? -1.0 : 1.0;
+            double coefficient = parseNumber(tokens.next());
+            tokens.expect("*", "Expected '*' between coefficient and variable in Sugeno consequent");
+            inputs.add(getVariableByName(tokens.next()));
+            coefficients.add(sign * coefficient);
+        }
+
+        if (inputs.isEmpty())
+            return new SugenoConsequent(output, constant);
+
+        double[] c = new double[coefficients.size()];
+        for (int i = 0; i < c.length; i++)
+            c[i] = coefficients.get(i);
+        return new SugenoConsequent(output, constant, inputs, c);
+    }
+
+    private static double parseNumber(String token) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid numeric value in Sugeno consequent");
+        }
+    }
 }
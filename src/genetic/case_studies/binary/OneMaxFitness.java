@@ -1,5 +1,6 @@
 package genetic.case_studies.binary;
 
+import genetic.core.BinaryChromosome;
 import genetic.core.Chromosome;
 import genetic.core.Gene;
 import genetic.engine.FitnessFunction;
@@ -13,6 +14,9 @@ public class OneMaxFitness implements FitnessFunction {
 
     @Override
     public Double evaluate(Chromosome chromosome) {
+        if (chromosome instanceof BinaryChromosome packed)
+            return (double) packed.cardinality() / packed.length();
+
         List<Gene<?>> genes = chromosome.getGenes();
 
         int ones = 0;
@@ -33,4 +37,10 @@ public class OneMaxFitness implements FitnessFunction {
         // Always valid for binary strings
         return true;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        // Only counts bits of the given chromosome; no fields
+        return true;
+    }
 }
@@ -91,4 +91,10 @@ public class CPUJobScheduling implements FitnessFunction {
 
         return true;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        // Only reads the jobs held by the genes; the duplicate set is local to each call
+        return true;
+    }
 }
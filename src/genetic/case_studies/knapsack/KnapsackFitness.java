@@ -2,6 +2,7 @@ package genetic.case_studies.knapsack;
 
 import genetic.core.Chromosome;
 import genetic.core.Gene;
+import genetic.core.IntegerChromosome;
 import genetic.engine.FitnessFunction;
 import java.util.List;
 
@@ -19,15 +20,25 @@ public class KnapsackFitness implements FitnessFunction {
 
     @Override
     public Double evaluate(Chromosome chromosome) {
-        List<Gene<?>> genes = chromosome.getGenes();
         int totalWeight = 0;
         int totalValue = 0;
 
-        for (int i = 0; i < genes.size(); i++) {
-            int included = ((Number) genes.get(i).getValue()).intValue();
-            if (included == 1) {
-                totalWeight += weights[i];
-                totalValue += values[i];
+        if (chromosome instanceof IntegerChromosome packed) {
+            int[] genes = packed.values();
+            for (int i = 0; i < genes.length; i++) {
+                if (genes[i] == 1) {
+                    totalWeight += weights[i];
+                    totalValue += values[i];
+                }
+            }
+        } else {
+            List<Gene<?>> genes = chromosome.getGenes();
+            for (int i = 0; i < genes.size(); i++) {
+                int included = ((Number) genes.get(i).getValue()).intValue();
+                if (included == 1) {
+                    totalWeight += weights[i];
+                    totalValue += values[i];
+                }
             }
         }
 
@@ -51,4 +62,10 @@ public class KnapsackFitness implements FitnessFunction {
         }
         return totalWeight <= capacity;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        // Only reads the item weights, values and capacity fixed at construction
+        return true;
+    }
 }
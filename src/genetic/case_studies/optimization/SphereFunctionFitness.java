@@ -1,20 +1,24 @@
 package genetic.case_studies.optimization;
 
 import genetic.core.Chromosome;
+import genetic.core.FloatingPointChromosome;
 import genetic.core.Gene;
 import genetic.engine.FitnessFunction;
-import java.util.List;
 
 public class SphereFunctionFitness implements FitnessFunction {
 
     @Override
     public Double evaluate(Chromosome chromosome) {
-        List<Gene<?>> genes = chromosome.getGenes();
         double sumSquares = 0.0;
 
-        for (Gene<?> gene : genes) {
-            double x = ((Number) gene.getValue()).doubleValue();
-            sumSquares += x * x;
+        if (chromosome instanceof FloatingPointChromosome packed) {
+            for (double x : packed.values())
+                sumSquares += x * x;
+        } else {
+            for (Gene<?> gene : chromosome.getGenes()) {
+                double x = ((Number) gene.getValue()).doubleValue();
+                sumSquares += x * x;
+            }
         }
 
         // Fitness = 1 / (1 + f(x)) since we want to minimize f(x)
@@ -26,4 +30,10 @@ public class SphereFunctionFitness implements FitnessFunction {
         // Always valid since all doubles are allowed
         return true;
     }
+
+    @Override
+    public boolean isThreadSafe() {
+        // Pure function of the genes; no fields
+        return true;
+    }
 }
@@ -0,0 +1,121 @@
+package genetic.core;
+
+import java.util.Random;
+
+/**
+ * Packed BINARY chromosome: one bit per gene in a {@code long[]} bitset.
+ */
+public class BinaryChromosome extends PackedChromosome {
+    private final long[] words;
+    private final int length;
+
+    /** Creates a chromosome with all bits cleared. */
+    public BinaryChromosome(int length) {
+        super(RepresentationType.BINARY);
+        this.length = length;
+        this.words = new long[(length + 63) >>> 6];
+    }
+
+    /** Creates a random chromosome; draws one {@code nextBoolean()} per gene like {@link BinaryGene}. */
+    public BinaryChromosome(int length, Random random) {
+        this(length);
+        for (int i = 0; i < length; i++) {
+            if (random.nextBoolean())
+                words[i >>> 6] |= 1L << i;
+        }
+    }
+
+    private BinaryChromosome(BinaryChromosome other) {
+        super(RepresentationType.BINARY);
+        this.length = other.length;
+        this.words = other.words.clone();
+        setFitness(other.getFitness());
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index, boolean value) {
+        if (value)
+            words[index >>> 6] |= 1L << index;
+        else
+            words[index >>> 6] &= ~(1L << index);
+    }
+
+    public void flip(int index) {
+        words[index >>> 6] ^= 1L << index;
+    }
+
+    /** Number of set bits. */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        boolean tmp = get(i);
+        set(i, get(j));
+        set(j, tmp);
+    }
+
+    /** Swaps whole words at a time, masking the partial words at each end. */
+    @Override
+    public void swapRange(PackedChromosome other, int from, int to) {
+        checkCompatible(other);
+        long[] otherWords = ((BinaryChromosome) other).words;
+
+        for (int w = from >>> 6; from < to; w++) {
+            int wordEnd = Math.min(to, (w + 1) << 6);
+            int bits = wordEnd - from;
+            long mask = (bits == 64 ? -1L : ((1L << bits) - 1)) << from;
+            long diff = (words[w] ^ otherWords[w]) & mask;
+            words[w] ^= diff;
+            otherWords[w] ^= diff;
+            from = wordEnd;
+        }
+    }
+
+    @Override
+    protected Gene<?> geneAt(int index) {
+        return new BinaryGene(Boolean.FALSE) {
+            @Override
+            public Boolean getValue() {
+                return get(index);
+            }
+
+            @Override
+            public void setValue(Boolean value) {
+                set(index, value);
+            }
+
+            @Override
+            public Gene<Boolean> copy() {
+                return new BinaryGene(get(index));
+            }
+
+            @Override
+            public String toString() {
+                return get(index) ? "1" : "0";
+            }
+        };
+    }
+
+    @Override
+    protected void setGeneAt(int index, Gene<?> gene) {
+        set(index, (Boolean) gene.getValue());
+    }
+
+    @Override
+    public BinaryChromosome copy() {
+        return new BinaryChromosome(this);
+    }
+}
@@ -23,6 +23,11 @@ public class Chromosome implements Comparable<Chromosome> {
         this.genes = new ArrayList<>(genes);
     }
 
+    /** For subclasses that keep their genes in their own storage (see {@link PackedChromosome}). */
+    protected Chromosome(RepresentationType type) {
+        this.type = Objects.requireNonNull(type);
+    }
+
     // --- Accessors ---
     public List<Gene<?>> getGenes() {
         return genes;
@@ -0,0 +1,100 @@
+package genetic.core;
+
+import java.util.Random;
+
+/**
+ * Packed FLOATING_POINT chromosome backed by a {@code double[]}.
+ */
+public class FloatingPointChromosome extends PackedChromosome {
+    private final double[] values;
+
+    public FloatingPointChromosome(double[] values) {
+        super(RepresentationType.FLOATING_POINT);
+        this.values = values.clone();
+    }
+
+    /** Creates a random chromosome; draws one {@code nextDouble()} per gene like {@link FloatingPointGene}. */
+    public FloatingPointChromosome(int length, Random random) {
+        super(RepresentationType.FLOATING_POINT);
+        this.values = new double[length];
+        for (int i = 0; i < length; i++)
+            values[i] = random.nextDouble();
+    }
+
+    private FloatingPointChromosome(FloatingPointChromosome other) {
+        super(RepresentationType.FLOATING_POINT);
+        this.values = other.values.clone();
+        setFitness(other.getFitness());
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, double value) {
+        values[index] = value;
+    }
+
+    /** Returns the backing array. Writes go straight into the chromosome. */
+    public double[] values() {
+        return values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    @Override
+    public void swapRange(PackedChromosome other, int from, int to) {
+        checkCompatible(other);
+        double[] otherValues = ((FloatingPointChromosome) other).values;
+        for (int i = from; i < to; i++) {
+            double tmp = values[i];
+            values[i] = otherValues[i];
+            otherValues[i] = tmp;
+        }
+    }
+
+    @Override
+    protected Gene<?> geneAt(int index) {
+        return new FloatingPointGene(0.0) {
+            @Override
+            public Double getValue() {
+                return values[index];
+            }
+
+            @Override
+            public void setValue(Double value) {
+                values[index] = value;
+            }
+
+            @Override
+            public Gene<Double> copy() {
+                return new FloatingPointGene(values[index]);
+            }
+
+            @Override
+            public String toString() {
+                return String.format("%.3f", values[index]);
+            }
+        };
+    }
+
+    @Override
+    protected void setGeneAt(int index, Gene<?> gene) {
+        values[index] = ((Number) gene.getValue()).doubleValue();
+    }
+
+    @Override
+    public FloatingPointChromosome copy() {
+        return new FloatingPointChromosome(this);
+    }
+}
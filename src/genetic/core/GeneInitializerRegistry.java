@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
  */
 public final class GeneInitializerRegistry {
     private static final Map<RepresentationType, GeneInitializer> REGISTRY = new EnumMap<>(RepresentationType.class);
+    private static final Map<RepresentationType, PackedChromosomeInitializer> PACKED_REGISTRY = new EnumMap<>(RepresentationType.class);
 
     static {
         REGISTRY.put(RepresentationType.BINARY,
@@ -42,6 +43,11 @@ public final class GeneInitializerRegistry {
                             .map(JobGene::new)
                             .collect(Collectors.toList());
                 });
+
+        // Packed variants: one primitive array per chromosome instead of one object per gene
+        PACKED_REGISTRY.put(RepresentationType.BINARY, BinaryChromosome::new);
+        PACKED_REGISTRY.put(RepresentationType.INTEGER, IntegerChromosome::new);
+        PACKED_REGISTRY.put(RepresentationType.FLOATING_POINT, FloatingPointChromosome::new);
     }
 
     private GeneInitializerRegistry() {}
@@ -56,4 +62,20 @@ public final class GeneInitializerRegistry {
     public static void register(RepresentationType type, GeneInitializer initializer) {
         REGISTRY.put(type, initializer);
     }
+
+    /** Returns the registered packed initializer for a representation type. */
+    public static PackedChromosomeInitializer getPacked(RepresentationType type) {
+        return Optional.ofNullable(PACKED_REGISTRY.get(type))
+                .orElseThrow(() -> new IllegalStateException("No packed initializer registered for type: " + type));
+    }
+
+    /** Returns true if a packed initializer is registered for the representation type. */
+    public static boolean hasPacked(RepresentationType type) {
+        return PACKED_REGISTRY.containsKey(type);
+    }
+
+    /** Allows client code to register custom packed initializers dynamically. */
+    public static void registerPacked(RepresentationType type, PackedChromosomeInitializer initializer) {
+        PACKED_REGISTRY.put(type, initializer);
+    }
 }
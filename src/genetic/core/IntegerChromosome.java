@@ -0,0 +1,101 @@
+package genetic.core;
+
+import java.util.Random;
+
+/**
+ * Packed INTEGER chromosome backed by an {@code int[]}.
+ * Also suits permutation encodings, where each value is an index into a shared table.
+ */
+public class IntegerChromosome extends PackedChromosome {
+    private final int[] values;
+
+    public IntegerChromosome(int[] values) {
+        super(RepresentationType.INTEGER);
+        this.values = values.clone();
+    }
+
+    /** Creates a random chromosome; draws one {@code nextInt(100)} per gene like {@link IntegerGene}. */
+    public IntegerChromosome(int length, Random random) {
+        super(RepresentationType.INTEGER);
+        this.values = new int[length];
+        for (int i = 0; i < length; i++)
+            values[i] = random.nextInt(100);
+    }
+
+    private IntegerChromosome(IntegerChromosome other) {
+        super(RepresentationType.INTEGER);
+        this.values = other.values.clone();
+        setFitness(other.getFitness());
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        values[index] = value;
+    }
+
+    /** Returns the backing array. Writes go straight into the chromosome. */
+    public int[] values() {
+        return values;
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    @Override
+    public void swapRange(PackedChromosome other, int from, int to) {
+        checkCompatible(other);
+        int[] otherValues = ((IntegerChromosome) other).values;
+        for (int i = from; i < to; i++) {
+            int tmp = values[i];
+            values[i] = otherValues[i];
+            otherValues[i] = tmp;
+        }
+    }
+
+    @Override
+    protected Gene<?> geneAt(int index) {
+        return new IntegerGene(0) {
+            @Override
+            public Integer getValue() {
+                return values[index];
+            }
+
+            @Override
+            public void setValue(Integer value) {
+                values[index] = value;
+            }
+
+            @Override
+            public Gene<Integer> copy() {
+                return new IntegerGene(values[index]);
+            }
+
+            @Override
+            public String toString() {
+                return Integer.toString(values[index]);
+            }
+        };
+    }
+
+    @Override
+    protected void setGeneAt(int index, Gene<?> gene) {
+        values[index] = ((Number) gene.getValue()).intValue();
+    }
+
+    @Override
+    public IntegerChromosome copy() {
+        return new IntegerChromosome(this);
+    }
+}
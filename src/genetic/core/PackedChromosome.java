@@ -0,0 +1,82 @@
+package genetic.core;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Base class for chromosomes that store their genes in a primitive array
+ * instead of a {@code List<Gene<?>>}.
+ *
+ * {@link #getGenes()} still works: it returns a fixed-size view whose genes read and
+ * write through to the array, so existing fitness functions need no changes.
+ * Gene objects taken from the view are live; call {@link Gene#copy()} to detach one.
+ * Operators that know the concrete subclass work on the array directly.
+ */
+public abstract class PackedChromosome extends Chromosome {
+
+    protected PackedChromosome(RepresentationType type) {
+        super(type);
+    }
+
+    /** Swaps the genes at positions {@code i} and {@code j}. */
+    public abstract void swap(int i, int j);
+
+    /** Swaps the genes in {@code [from, to)} with the same range of {@code other}. */
+    public abstract void swapRange(PackedChromosome other, int from, int to);
+
+    /** Returns a live gene bound to {@code index}. */
+    protected abstract Gene<?> geneAt(int index);
+
+    /** Stores the value of {@code gene} at {@code index}. */
+    protected abstract void setGeneAt(int index, Gene<?> gene);
+
+    @Override
+    public List<Gene<?>> getGenes() {
+        return new AbstractList<>() {
+            @Override
+            public Gene<?> get(int index) {
+                return geneAt(checkIndex(index));
+            }
+
+            @Override
+            public Gene<?> set(int index, Gene<?> gene) {
+                Gene<?> previous = geneAt(checkIndex(index)).copy();
+                setGeneAt(index, gene);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return length();
+            }
+        };
+    }
+
+    @Override
+    public void setGenes(List<Gene<?>> genes) {
+        if (genes.size() != length())
+            throw new IllegalArgumentException("Packed chromosome length is fixed at " + length() + ", got " + genes.size());
+        for (int i = 0; i < genes.size(); i++)
+            setGeneAt(i, genes.get(i));
+    }
+
+    @Override
+    public abstract PackedChromosome copy();
+
+    /** Throws if {@code other} is not the same packed type and length as this chromosome. */
+    protected void checkCompatible(PackedChromosome other) {
+        if (other.getClass() != getClass() || other.length() != length())
+            throw new IllegalArgumentException("Parent chromosomes must have the same packed type and length");
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length());
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return getGenes().toString() + " | Fitness: " + String.format("%.4f", getFitness());
+    }
+}
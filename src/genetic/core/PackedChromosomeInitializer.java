@@ -0,0 +1,12 @@
+package genetic.core;
+
+import java.util.Random;
+
+/**
+ * Strategy interface for creating packed chromosomes
+ * based on the representation type.
+ */
+@FunctionalInterface
+public interface PackedChromosomeInitializer {
+    PackedChromosome initialize(int length, Random random);
+}
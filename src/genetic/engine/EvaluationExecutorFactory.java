@@ -0,0 +1,28 @@
+package genetic.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Creates executors for parallel fitness evaluation.
+ * The caller owns the returned executor and is responsible for shutting it down.
+ */
+public class EvaluationExecutorFactory {
+
+    public static ExecutorService create(String name) {
+        return create(name, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static ExecutorService create(String name, int threads) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+
+        return switch (name.toLowerCase()) {
+            case "forkjoin" -> new ForkJoinPool(threads);
+            case "fixed" -> Executors.newFixedThreadPool(threads);
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unknown evaluation executor: " + name);
+        };
+    }
+}
@@ -7,4 +7,13 @@ public interface FitnessFunction {
     default boolean isValid(Chromosome chromosome) {
         return true;
     }
+
+    /**
+     * Declares whether {@link #evaluate(Chromosome)} may be called concurrently
+     * from several threads. Only thread-safe fitness functions are evaluated on
+     * the engine's evaluation executor; all others stay on the caller thread.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
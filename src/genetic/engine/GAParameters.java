@@ -19,6 +19,7 @@ public class GAParameters {
     private final double mutationRate;
     private final double mutationRange;
     private final RepresentationType representationType;
+    private final boolean packedGenes;
     private final Random random;
 
     // Optional fields
@@ -37,6 +38,7 @@ public class GAParameters {
         this.mutationRate = builder.mutationRate;
         this.mutationRange = builder.mutationRange;
         this.representationType = builder.representationType;
+        this.packedGenes = builder.packedGenes;
         this.random = builder.random;
         this.initialPopulation = builder.initialPopulation;
         this.populationInitializer = builder.populationInitializer;
@@ -53,6 +55,7 @@ public class GAParameters {
     public double getMutationRate() { return mutationRate; }
     public double getMutationRange() { return mutationRange; }
     public RepresentationType getRepresentationType() { return representationType; }
+    public boolean isPackedGenes() { return packedGenes; }
     public Random getRandom() { return random; }
     public List<Chromosome> getInitialPopulation() { return initialPopulation; }
     public Supplier<List<Chromosome>> getPopulationInitializer() { return populationInitializer; }
@@ -65,6 +68,8 @@ public class GAParameters {
             throw new IllegalArgumentException("Crossover rate must be between 0 and 1.");
         if (mutationRate < 0 || mutationRate > 1)
             throw new IllegalArgumentException("Mutation rate must be between 0 and 1.");
+        if (packedGenes && !GeneInitializerRegistry.hasPacked(representationType))
+            throw new IllegalArgumentException("No packed representation available for " + representationType + ".");
     }
 
     // --- Builder Pattern ---
@@ -79,6 +84,7 @@ public class GAParameters {
         private double mutationRate = 0.05;
         private double mutationRange = 0.1;
         private RepresentationType representationType = RepresentationType.INTEGER;
+        private boolean packedGenes = false;
         private Random random = new Random();
         private List<Chromosome> initialPopulation;
         private Supplier<List<Chromosome>> populationInitializer;
@@ -133,6 +139,12 @@ public class GAParameters {
             return this;
         }
 
+        /** Stores genes in primitive arrays (see {@link PackedChromosome}) instead of Gene objects. */
+        public Builder setPackedGenes(boolean packedGenes) {
+            this.packedGenes = packedGenes;
+            return this;
+        }
+
         public Builder setRandomSeed(long seed) {
             this.random = new Random(seed);
             return this;
@@ -8,6 +8,10 @@ import genetic.replacement.*;
 import genetic.util.PerformanceMetrics;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 /**
@@ -21,6 +25,7 @@ public class GeneticAlgorithmEngine {
     private final CrossoverStrategy crossover;
     private final MutationStrategy mutation;
     private final ReplacementStrategy replacement;
+    private final ExecutorService evaluationExecutor;
 
     private final Random random;
     private Population population;
@@ -34,59 +39,99 @@ public class GeneticAlgorithmEngine {
         this.crossover = builder.crossover;
         this.mutation = builder.mutation;
         this.replacement = builder.replacement;
-        this.random = Optional.ofNullable(params.getRandom()).orElseGet(Random::new);
+        this.evaluationExecutor = builder.evaluationExecutor;
+        this.random = Optional.ofNullable(builder.random)
+                .or(() -> Optional.ofNullable(params.getRandom()))
+                .orElseGet(Random::new);
     }
 
     /** Initializes the population and evaluates initial fitness. */
-    private void initializePopulation() {
+    void initializePopulation() {
+        List<Chromosome> individuals = new ArrayList<>();
+
         // 1) If the client provided a ready population, use it (defensive copy)
         List<Chromosome> providedPop = params.getInitialPopulation();
+        Supplier<List<Chromosome>> initializer = params.getPopulationInitializer();
         if (providedPop != null && !providedPop.isEmpty()) {
-            population = new Population();
-            for (Chromosome c : providedPop) {
-                Chromosome copy = c.copy();
-                copy.setFitness(fitnessFunction.evaluate(copy));
-                population.addChromosome(copy);
-            }
-            return;
+            for (Chromosome c : providedPop)
+                individuals.add(c.copy());
         }
-
         // 2) If the client provided a population initializer Supplier, use it
-        Supplier<List<Chromosome>> initializer = params.getPopulationInitializer();
-        if (initializer != null) {
-            List<Chromosome> built = initializer.get();
-            population = new Population();
-            for (Chromosome c : built) {
-                Chromosome copy = c.copy();
-                copy.setFitness(fitnessFunction.evaluate(copy));
-                population.addChromosome(copy);
+        else if (initializer != null) {
+            for (Chromosome c : initializer.get())
+                individuals.add(c.copy());
+        }
+        // 3) Default: create random population according to representation
+        else {
+            for (int i = 0; i < params.getPopulationSize(); i++) {
+                // Genes constructed by their default constructors will already be randomized.
+                individuals.add(params.isPackedGenes()
+                        ? GeneInitializerRegistry.getPacked(params.getRepresentationType())
+                                .initialize(params.getChromosomeLength(), random)
+                        : new Chromosome(params.getRepresentationType(), params.getChromosomeLength(), random));
             }
-            return;
         }
 
-        // 3) Default: create random population according to representation
-        population = new Population();
-        for (int i = 0; i < params.getPopulationSize(); i++) {
-            Chromosome c = new Chromosome(params.getRepresentationType(), params.getChromosomeLength(), random);
+        evaluateAll(individuals);
 
-            // If any gene types support re-initialization via Random, engine doesn't assume method signatures.
-            // Genes constructed by their default constructors will already be randomized.
-            // Evaluate fitness and add
-            c.setFitness(fitnessFunction.evaluate(c));
+        population = new Population();
+        for (Chromosome c : individuals)
             population.addChromosome(c);
-        }
     }
 
     /** Evaluates fitness for all chromosomes in the given population. */
     private void evaluatePopulation(Population pop) {
-        for (Chromosome c : pop.getIndividuals()) {
-            double fitness = fitnessFunction.evaluate(c);
-            c.setFitness(fitness);
+        evaluateAll(pop.getIndividuals());
+    }
+
+    /**
+     * Evaluates every chromosome, in parallel when an evaluation executor is configured
+     * and the fitness function declares itself thread-safe. Fitness values are assigned
+     * in list order after all evaluations finish, so results match a serial run.
+     */
+    private void evaluateAll(List<Chromosome> chromosomes) {
+        if (evaluationExecutor == null || !fitnessFunction.isThreadSafe() || chromosomes.size() < 2) {
+            for (Chromosome c : chromosomes) {
+                double fitness = fitnessFunction.evaluate(c);
+                c.setFitness(fitness);
+            }
+            return;
+        }
+
+        List<Callable<Double>> tasks = new ArrayList<>(chromosomes.size());
+        for (Chromosome c : chromosomes)
+            tasks.add(() -> fitnessFunction.evaluate(c));
+
+        try {
+            List<Future<Double>> results = evaluationExecutor.invokeAll(tasks);
+            for (int i = 0; i < chromosomes.size(); i++)
+                chromosomes.get(i).setFitness(results.get(i).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fitness evaluation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException("Fitness evaluation failed", e.getCause());
         }
     }
 
     /** Executes a single generation of evolution. */
     private void evolveGeneration(int generation) {
+        stepGeneration();
+
+        Chromosome best = population.getBest();
+        double avg = population.getIndividuals().stream()
+                .mapToDouble(Chromosome::getFitness)
+                .average()
+                .orElse(0.0);
+
+        System.out.printf("Generation %04d | Best: %.5f | Avg: %.5f%n", generation, best.getFitness(), avg);
+//        System.out.printf("Generation %d | Best Fitness: %.4f%n", generation, best.getFitness());
+    }
+
+    /** Breeds, evaluates and replaces one generation without logging. Also drives each island of {@link IslandModelEngine}. */
+    void stepGeneration() {
         List<Chromosome> offspringList = new ArrayList<>();
 
         while (offspringList.size() < params.getPopulationSize()) {
@@ -116,15 +161,6 @@ public class GeneticAlgorithmEngine {
         evaluatePopulation(offspringPop);
 
         population = replacement.replace(population, offspringPop);
-
-        Chromosome best = population.getBest();
-        double avg = population.getIndividuals().stream()
-                .mapToDouble(Chromosome::getFitness)
-                .average()
-                .orElse(0.0);
-
-        System.out.printf("Generation %04d | Best: %.5f | Avg: %.5f%n", generation, best.getFitness(), avg);
-//        System.out.printf("Generation %d | Best Fitness: %.4f%n", generation, best.getFitness());
     }
 
     /** Runs the GA evolution loop with validation. */
@@ -295,6 +331,12 @@ public class GeneticAlgorithmEngine {
     public int getLastGeneration() {
         return lastGeneration;
     }
+
+    /** Current population; exposed to {@link IslandModelEngine} for migration. */
+    Population getPopulation() {
+        return population;
+    }
+
     // ---------------------------------------------------------
     // ✅ BUILDER CLASS
     // ---------------------------------------------------------
@@ -305,6 +347,8 @@ public class GeneticAlgorithmEngine {
         private CrossoverStrategy crossover;
         private MutationStrategy mutation;
         private ReplacementStrategy replacement;
+        private ExecutorService evaluationExecutor;
+        private Random random;
 
         public Builder(GAParameters params, FitnessFunction fitnessFunction) {
             this.params = Objects.requireNonNull(params, "GAParameters cannot be null");
@@ -331,6 +375,21 @@ public class GeneticAlgorithmEngine {
             return this;
         }
 
+        /**
+         * Evaluates fitness on the given executor when the fitness function is thread-safe.
+         * The engine does not shut the executor down.
+         */
+        public Builder withEvaluationExecutor(ExecutorService evaluationExecutor) {
+            this.evaluationExecutor = evaluationExecutor;
+            return this;
+        }
+
+        /** Overrides the Random from GAParameters; gives each island its own stream. */
+        Builder withRandom(Random random) {
+            this.random = random;
+            return this;
+        }
+
         /** Builds the engine, injecting defaults where needed. */
         public GeneticAlgorithmEngine build() {
             if (selection == null)
@@ -0,0 +1,353 @@
+package genetic.engine;
+
+import genetic.core.*;
+import genetic.operators.selection.*;
+import genetic.operators.crossover.*;
+import genetic.operators.mutation.*;
+import genetic.replacement.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Island-model Genetic Algorithm.
+ * Evolves several sub-populations in parallel, each driven by its own {@link GeneticAlgorithmEngine}
+ * and Random stream, and migrates the best individuals along a {@link MigrationTopology}
+ * every few generations.
+ *
+ * Islands only synchronize at migration points, and migration runs on the caller thread in
+ * island order, so a seeded run gives the same result regardless of thread scheduling.
+ * All islands share one fitness function, so islands only run in parallel when it declares
+ * {@link FitnessFunction#isThreadSafe()}; otherwise they are stepped one after another.
+ * GAParameters.getPopulationSize() is the size of each island.
+ */
+public class IslandModelEngine {
+    private final GAParameters params;
+    private final FitnessFunction fitnessFunction;
+    private final int islandCount;
+    private final int migrationInterval;
+    private final int migrationSize;
+    private final MigrationTopology topology;
+    private final SelectionStrategy[] selections;
+    private final ReplacementStrategy[] replacements;
+    private final CrossoverStrategy crossover;
+    private final MutationStrategy mutation;
+    private final ExecutorService executor;
+
+    private final Random random;
+    private List<GeneticAlgorithmEngine> islands = List.of();
+    private int lastGeneration = 0;
+
+    /** Private constructor — only accessible via the Builder */
+    private IslandModelEngine(Builder builder) {
+        this.params = builder.params;
+        this.fitnessFunction = builder.fitnessFunction;
+        this.islandCount = builder.islandCount;
+        this.migrationInterval = builder.migrationInterval;
+        this.migrationSize = builder.migrationSize;
+        this.topology = builder.topology;
+        this.selections = builder.selections;
+        this.replacements = builder.replacements;
+        this.crossover = builder.crossover;
+        this.mutation = builder.mutation;
+        this.executor = builder.executor;
+        this.random = Optional.ofNullable(params.getRandom()).orElseGet(Random::new);
+    }
+
+    /** Creates one engine per island, each seeded from the master Random, and evaluates their initial populations. */
+    private void initializeIslands(ExecutorService pool) {
+        List<GeneticAlgorithmEngine> created = new ArrayList<>();
+        for (int i = 0; i < islandCount; i++) {
+            GeneticAlgorithmEngine island = new GeneticAlgorithmEngine.Builder(params, fitnessFunction)
+                    .withSelection(selections[i % selections.length])
+                    .withCrossover(crossover)
+                    .withMutation(mutation)
+                    .withReplacement(replacements[i % replacements.length])
+                    .withRandom(new Random(random.nextLong()))
+                    .build();
+            created.add(island);
+        }
+        islands = created;
+        runOnIslands(pool, GeneticAlgorithmEngine::initializePopulation);
+    }
+
+    /**
+     * Runs the task on every island concurrently and waits for all of them to finish. With a
+     * fitness function that is not thread-safe (or no pool), the islands run one after another
+     * on the caller thread instead; each has its own Random, so the result is the same.
+     */
+    private void runOnIslands(ExecutorService pool, Consumer<GeneticAlgorithmEngine> task) {
+        if (pool == null || !fitnessFunction.isThreadSafe()) {
+            for (GeneticAlgorithmEngine island : islands)
+                task.accept(island);
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(islands.size());
+        for (GeneticAlgorithmEngine island : islands) {
+            tasks.add(() -> {
+                task.accept(island);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks))
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island evolution was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException("Island evolution failed", e.getCause());
+        }
+    }
+
+    /**
+     * Sends copies of each island's best individuals to its topology targets.
+     * Each receiving island keeps the best {@code migrationSize} arrivals and
+     * uses them to overwrite its worst individuals.
+     */
+    private void migrate() {
+        if (islandCount < 2 || migrationSize <= 0)
+            return;
+
+        // Snapshot emigrants first so the order of migration does not matter
+        List<List<Chromosome>> incoming = new ArrayList<>();
+        for (int i = 0; i < islandCount; i++)
+            incoming.add(new ArrayList<>());
+
+        for (int i = 0; i < islandCount; i++) {
+            List<Chromosome> ranked = new ArrayList<>(islands.get(i).getPopulation().getIndividuals());
+            ranked.sort(Comparator.comparingDouble(Chromosome::getFitness).reversed());
+            List<Chromosome> emigrants = ranked.subList(0, Math.min(migrationSize, ranked.size()));
+
+            for (int target : topology.targets(i, islandCount, random)) {
+                for (Chromosome c : emigrants)
+                    incoming.get(target).add(c.copy());
+            }
+        }
+
+        for (int i = 0; i < islandCount; i++) {
+            List<Chromosome> arrivals = incoming.get(i);
+            arrivals.sort(Comparator.comparingDouble(Chromosome::getFitness).reversed());
+
+            List<Chromosome> residents = islands.get(i).getPopulation().getIndividuals();
+            residents.sort(Comparator.comparingDouble(Chromosome::getFitness)); // ascending (worst first)
+
+            int count = Math.min(Math.min(migrationSize, arrivals.size()), residents.size());
+            for (int k = 0; k < count; k++)
+                residents.set(k, arrivals.get(k));
+        }
+    }
+
+    /** Evolves all islands for the configured number of generations. Returns true if the threshold was reached. */
+    private boolean evolve(ExecutorService pool) {
+        initializeIslands(pool);
+
+        boolean hasThreshold = params.getFitnessThreshold() != null;
+        final double EPSILON = 1e-6;
+
+        int generation = 0;
+        while (generation < params.getGenerations()) {
+            int epoch = Math.min(migrationInterval, params.getGenerations() - generation);
+            runOnIslands(pool, island -> {
+                for (int g = 0; g < epoch; g++)
+                    island.stepGeneration();
+            });
+            generation += epoch;
+            lastGeneration = generation;
+
+            Chromosome best = getBestSolution();
+            double avg = islands.stream()
+                    .flatMap(island -> island.getPopulation().getIndividuals().stream())
+                    .mapToDouble(Chromosome::getFitness)
+                    .average()
+                    .orElse(0.0);
+            System.out.printf("Generation %04d | Best: %.5f | Avg: %.5f (%d islands)%n",
+                    generation, best.getFitness(), avg, islandCount);
+
+            if (hasThreshold && best.getFitness() + EPSILON >= params.getFitnessThreshold()) {
+                System.out.printf(
+                        "🎯 Fitness threshold %.5f reached at generation %d (fitness = %.5f)%n",
+                        params.getFitnessThreshold(), generation, best.getFitness()
+                );
+                return true;
+            }
+
+            if (generation < params.getGenerations())
+                migrate();
+        }
+        return false;
+    }
+
+    /** Runs the island-model evolution loop with validation. */
+    public Chromosome run() {
+        params.validate();
+
+        ExecutorService pool = executor;
+        // No pool is needed when the islands have to run one after another anyway
+        boolean ownsPool = pool == null && fitnessFunction.isThreadSafe();
+        if (ownsPool)
+            pool = Executors.newFixedThreadPool(islandCount);
+
+        boolean thresholdReached;
+        Chromosome finalBest;
+        int attempts = 0;
+        try {
+            thresholdReached = evolve(pool);
+            finalBest = getBestSolution();
+
+            // --- Validation retry loop ---
+            while (!fitnessFunction.isValid(finalBest) && attempts < params.getMaxRetries()) {
+                System.out.println("❌ Invalid solution found — restarting evolution...");
+                thresholdReached = evolve(pool);
+                finalBest = getBestSolution();
+                attempts++;
+            }
+        } finally {
+            if (ownsPool)
+                pool.shutdown();
+        }
+
+        if (params.getFitnessThreshold() != null && !thresholdReached) {
+            System.out.println("⚠️ Fitness threshold not reached within the allotted generations.");
+        }
+
+        System.out.printf("\n🔁 Retries (for validity): %d%n", attempts);
+
+        if (fitnessFunction.isValid(finalBest)) {
+            System.out.println("✅ Valid solution found!");
+        } else {
+            System.out.println("⚠️ Could not find a valid solution after retries.");
+        }
+
+        System.out.println("\n=== Island Evolution Complete ===");
+        System.out.println("Best Solution: " + finalBest);
+        return finalBest;
+    }
+
+    /** Returns the best chromosome across all islands. */
+    public Chromosome getBestSolution() {
+        return islands.stream()
+                .map(GeneticAlgorithmEngine::getBestSolution)
+                .filter(Objects::nonNull)
+                .max(Comparator.comparingDouble(Chromosome::getFitness))
+                .orElse(null);
+    }
+
+    /** Returns each island's current population, in island order. */
+    public List<Population> getIslandPopulations() {
+        return islands.stream().map(GeneticAlgorithmEngine::getPopulation).toList();
+    }
+
+    public int getLastGeneration() {
+        return lastGeneration;
+    }
+
+    // ---------------------------------------------------------
+    // ✅ BUILDER CLASS
+    // ---------------------------------------------------------
+    public static class Builder {
+        private final GAParameters params;
+        private final FitnessFunction fitnessFunction;
+        private int islandCount = Runtime.getRuntime().availableProcessors();
+        private int migrationInterval = 10;
+        private int migrationSize = 2;
+        private MigrationTopology topology = MigrationTopology.RING;
+        private SelectionStrategy[] selections;
+        private ReplacementStrategy[] replacements;
+        private CrossoverStrategy crossover;
+        private MutationStrategy mutation;
+        private ExecutorService executor;
+
+        public Builder(GAParameters params, FitnessFunction fitnessFunction) {
+            this.params = Objects.requireNonNull(params, "GAParameters cannot be null");
+            this.fitnessFunction = Objects.requireNonNull(fitnessFunction, "FitnessFunction cannot be null");
+        }
+
+        public Builder setIslandCount(int islandCount) {
+            this.islandCount = islandCount;
+            return this;
+        }
+
+        /** Number of generations each island evolves between migrations. */
+        public Builder setMigrationInterval(int migrationInterval) {
+            this.migrationInterval = migrationInterval;
+            return this;
+        }
+
+        /** Number of best individuals each island sends per migration. */
+        public Builder setMigrationSize(int migrationSize) {
+            this.migrationSize = migrationSize;
+            return this;
+        }
+
+        public Builder setTopology(MigrationTopology topology) {
+            this.topology = topology;
+            return this;
+        }
+
+        /**
+         * Selection strategies assigned round-robin to the islands; pass one to share it.
+         * Strategies are used from several threads, so they must be stateless.
+         */
+        public Builder withSelection(SelectionStrategy... selections) {
+            this.selections = selections;
+            return this;
+        }
+
+        /** Replacement strategies assigned round-robin to the islands; pass one to share it. */
+        public Builder withReplacement(ReplacementStrategy... replacements) {
+            this.replacements = replacements;
+            return this;
+        }
+
+        public Builder withCrossover(CrossoverStrategy crossover) {
+            this.crossover = crossover;
+            return this;
+        }
+
+        public Builder withMutation(MutationStrategy mutation) {
+            this.mutation = mutation;
+            return this;
+        }
+
+        /**
+         * Runs islands on the given executor instead of a pool created per run.
+         * The engine does not shut the executor down.
+         */
+        public Builder withExecutor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /** Builds the engine, injecting defaults where needed. */
+        public IslandModelEngine build() {
+            if (islandCount <= 0)
+                throw new IllegalArgumentException("Island count must be positive.");
+            if (migrationInterval <= 0)
+                throw new IllegalArgumentException("Migration interval must be positive.");
+            if (migrationSize < 0)
+                throw new IllegalArgumentException("Migration size cannot be negative.");
+
+            if (selections == null || selections.length == 0)
+                selections = new SelectionStrategy[]{ OperatorFactory.createSelection("tournament") };
+            if (crossover == null)
+                crossover = OperatorFactory.createCrossover("order", params);
+            if (mutation == null)
+                mutation = OperatorFactory.createMutation("swap", params);
+            if (replacements == null || replacements.length == 0)
+                replacements = new ReplacementStrategy[]{ OperatorFactory.createReplacement("steady") };
+            Objects.requireNonNull(topology, "MigrationTopology cannot be null");
+
+            return new IslandModelEngine(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package genetic.engine;
+
+import java.util.Random;
+
+/**
+ * Decides which islands receive migrants from a given island in {@link IslandModelEngine}.
+ */
+public enum MigrationTopology {
+    /** Island i sends to island i + 1, wrapping around. */
+    RING {
+        @Override
+        public int[] targets(int island, int islandCount, Random random) {
+            return new int[]{ (island + 1) % islandCount };
+        }
+    },
+
+    /** Every island sends to every other island. */
+    FULLY_CONNECTED {
+        @Override
+        public int[] targets(int island, int islandCount, Random random) {
+            int[] targets = new int[islandCount - 1];
+            for (int i = 0, t = 0; i < islandCount; i++) {
+                if (i != island)
+                    targets[t++] = i;
+            }
+            return targets;
+        }
+    },
+
+    /** Each island sends to one other island chosen at random on every migration. */
+    RANDOM {
+        @Override
+        public int[] targets(int island, int islandCount, Random random) {
+            int target = random.nextInt(islandCount - 1);
+            if (target >= island)
+                target++;
+            return new int[]{ target };
+        }
+    };
+
+    /** Returns the islands that receive migrants from {@code island}. Requires at least two islands. */
+    public abstract int[] targets(int island, int islandCount, Random random);
+}
@@ -51,7 +51,9 @@ public class NPointCrossover implements CrossoverStrategy {
         int prev = 0;
 
         for (int point : crossoverPoints) {
-            if (swap) {
+            if (swap && child1 instanceof PackedChromosome packed1 && child2 instanceof PackedChromosome packed2) {
+                packed1.swapRange(packed2, prev, point);
+            } else if (swap) {
                 for (int i = prev; i < point; i++) {
                     Gene<?> g1 = child1.getGenes().get(i).copy();
                     child1.getGenes().set(i, child2.getGenes().get(i).copy());
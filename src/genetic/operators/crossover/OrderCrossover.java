@@ -2,6 +2,7 @@ package genetic.operators.crossover;
 
 import genetic.core.Chromosome;
 import genetic.core.Gene;
+import genetic.core.IntegerChromosome;
 
 import java.util.*;
 
@@ -19,6 +20,13 @@ public class OrderCrossover implements CrossoverStrategy {
             point2 = tmp;
         }
 
+        if (parent1 instanceof IntegerChromosome p1 && parent2 instanceof IntegerChromosome p2) {
+            int[] child1 = orderCrossover(p1.values(), p2.values(), point1, point2);
+            int[] child2 = orderCrossover(p2.values(), p1.values(), point1, point2);
+            if (child1 != null && child2 != null)
+                return new Chromosome[]{ new IntegerChromosome(child1), new IntegerChromosome(child2) };
+        }
+
         // Initialize children with null placeholders
         List<Gene<?>> child1Genes = new ArrayList<>(Collections.nCopies(length, null));
         List<Gene<?>> child2Genes = new ArrayList<>(Collections.nCopies(length, null));
@@ -62,4 +70,58 @@ public class OrderCrossover implements CrossoverStrategy {
             }
         }
     }
+
+    /**
+     * Primitive version of the crossover for packed integer chromosomes (e.g. permutations of indices).
+     * Used values are tracked in a boolean table over the parents' value range.
+     * Slots left empty because the parents repeat values keep the other parent's gene at that position.
+     * Returns null when the value range is too wide for a table, so the caller falls back to the generic path.
+     */
+    private int[] orderCrossover(int[] parent, int[] otherParent, int point1, int point2) {
+        int length = parent.length;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, Math.min(parent[i], otherParent[i]));
+            max = Math.max(max, Math.max(parent[i], otherParent[i]));
+        }
+        long range = (long) max - min + 1;
+        if (range > 4L * length + 64)
+            return null;
+
+        int[] child = new int[length];
+        boolean[] filled = new boolean[length];
+        boolean[] used = new boolean[(int) range];
+
+        // Copy the segment from the parent
+        for (int i = point1; i <= point2; i++) {
+            child[i] = parent[i];
+            filled[i] = true;
+            used[parent[i] - min] = true;
+        }
+
+        // Fill remaining positions from the other parent, starting after the segment
+        int index = (point2 + 1) % length;
+        int remaining = length - (point2 - point1 + 1);
+        for (int value : otherParent) {
+            if (remaining == 0)
+                break;
+            if (!used[value - min]) {
+                while (filled[index])
+                    index = (index + 1) % length;
+
+                child[index] = value;
+                filled[index] = true;
+                used[value - min] = true;
+                remaining--;
+                index = (index + 1) % length;
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!filled[i])
+                child[i] = otherParent[i];
+        }
+        return child;
+    }
 }
@@ -15,6 +15,14 @@ public class UniformCrossover implements CrossoverStrategy {
         Chromosome child1 = parent1.copy();
         Chromosome child2 = parent2.copy();
 
+        if (child1 instanceof PackedChromosome packed1 && child2 instanceof PackedChromosome packed2) {
+            for (int i = 0; i < parent1.length(); i++) {
+                if (random.nextDouble() < crossoverRate)
+                    packed1.swapRange(packed2, i, i + 1);
+            }
+            return new Chromosome[]{child1, child2};
+        }
+
         for (int i = 0; i < parent1.length(); i++) {
             if (random.nextDouble() < crossoverRate) {
                 Gene<?> temp = child1.getGenes().get(i).copy();
@@ -16,6 +16,14 @@ public class BitFlipMutation implements MutationStrategy {
         if (chromosome.getType() != RepresentationType.BINARY)
             return;
 
+        if (chromosome instanceof BinaryChromosome packed) {
+            for (int i = 0; i < packed.length(); i++) {
+                if (random.nextDouble() < mutationRate)
+                    packed.flip(i);
+            }
+            return;
+        }
+
         for (Gene<?> gene : chromosome.getGenes()) {
             if (random.nextDouble() < mutationRate) {
                 BinaryGene g = (BinaryGene) gene;
@@ -22,6 +22,15 @@ public class FloatingPointMutation implements MutationStrategy {
         if (chromosome.getType() != RepresentationType.FLOATING_POINT)
             return;
 
+        if (chromosome instanceof FloatingPointChromosome packed) {
+            double[] values = packed.values();
+            for (int i = 0; i < values.length; i++) {
+                if (random.nextDouble() < mutationRate)
+                    values[i] += (random.nextDouble() * 2 - 1) * mutationRange * Math.abs(values[i]);
+            }
+            return;
+        }
+
         for (Gene<?> gene : chromosome.getGenes()) {
             if (random.nextDouble() < mutationRate) {
                 FloatingPointGene g = (FloatingPointGene) gene;
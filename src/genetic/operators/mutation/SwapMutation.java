@@ -24,6 +24,18 @@ public class SwapMutation implements MutationStrategy {
     public void mutate(Chromosome chromosome, Random random) {
         // Apply mutation with probability = mutationRate
         if (random.nextDouble() < mutationRate) {
+            // Packed chromosomes swap in place without gene objects
+            if (chromosome instanceof PackedChromosome packed) {
+                if (packed.length() < 2)
+                    return;
+                int i = random.nextInt(packed.length());
+                int j = random.nextInt(packed.length());
+                while (i == j)
+                    j = random.nextInt(packed.length());
+                packed.swap(i, j);
+                return;
+            }
+
             // Get the gene list (List<Gene<?>>)
             List<Gene<?>> genes = (List<Gene<?>>) chromosome.getGenes();
 
@@ -1,6 +1,7 @@
 package neural.activations;
 
 import neural.core.ActivationFunction;
+import neural.utils.DenseMatrix;
 
 public class Linear implements ActivationFunction {
 
@@ -31,4 +32,44 @@ public class Linear implements ActivationFunction {
 
         return grad;
     }
+
+    @Override
+    public DenseMatrix activate(DenseMatrix input) {
+        return input.copy();
+    }
+
+    @Override
+    public DenseMatrix derivative(DenseMatrix input) {
+        DenseMatrix grad = new DenseMatrix(input.rows(), input.cols());
+        grad.fill(1.0);
+        return grad;
+    }
+
+    @Override
+    public void activateInto(DenseMatrix input, DenseMatrix output) {
+        if (output != input)
+            output.copyFrom(input);
+    }
+
+    @Override
+    public void addBiasActivateInto(DenseMatrix z, DenseMatrix bias, DenseMatrix output) {
+        int rows = z.rows();
+        int cols = z.cols();
+        double[] zd = z.data(), b = bias.data(), out = output.data();
+        int bRow = bias.index(0, 0);
+
+        for (int i = 0; i < rows; i++) {
+            int zRow = z.index(i, 0), outRow = output.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                double x = zd[zRow + j] + b[bRow + j];
+                zd[zRow + j] = x;
+                out[outRow + j] = x;
+            }
+        }
+    }
+
+    @Override
+    public void derivativeInto(DenseMatrix input, DenseMatrix output) {
+        output.fill(1.0);
+    }
 }
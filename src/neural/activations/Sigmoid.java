@@ -1,6 +1,7 @@
 package neural.activations;
 
 import neural.core.ActivationFunction;
+import neural.utils.DenseMatrix;
 
 public class Sigmoid implements ActivationFunction {
 
@@ -38,4 +39,66 @@ public class Sigmoid implements ActivationFunction {
     private double sigmoid(double x) {
         return 1.0 / (1.0 + Math.exp(-x));
     }
+
+    @Override
+    public DenseMatrix activate(DenseMatrix input) {
+        DenseMatrix output = new DenseMatrix(input.rows(), input.cols());
+        activateInto(input, output);
+        return output;
+    }
+
+    @Override
+    public DenseMatrix derivative(DenseMatrix input) {
+        DenseMatrix grad = new DenseMatrix(input.rows(), input.cols());
+        derivativeInto(input, grad);
+        return grad;
+    }
+
+    @Override
+    public void activateInto(DenseMatrix input, DenseMatrix output) {
+        int rows = input.rows();
+        int cols = input.cols();
+        double[] in = input.data(), out = output.data();
+
+        for (int i = 0; i < rows; i++) {
+            int inRow = input.index(i, 0), outRow = output.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                double x = in[inRow + j];
+                out[outRow + j] = sigmoid(x);
+            }
+        }
+    }
+
+    @Override
+    public void addBiasActivateInto(DenseMatrix z, DenseMatrix bias, DenseMatrix output) {
+        int rows = z.rows();
+        int cols = z.cols();
+        double[] zd = z.data(), b = bias.data(), out = output.data();
+        int bRow = bias.index(0, 0);
+
+        for (int i = 0; i < rows; i++) {
+            int zRow = z.index(i, 0), outRow = output.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                double x = zd[zRow + j] + b[bRow + j];
+                zd[zRow + j] = x;
+                out[outRow + j] = sigmoid(x);
+            }
+        }
+    }
+
+    @Override
+    public void derivativeInto(DenseMatrix input, DenseMatrix output) {
+        int rows = input.rows();
+        int cols = input.cols();
+        double[] in = input.data(), out = output.data();
+
+        for (int i = 0; i < rows; i++) {
+            int inRow = input.index(i, 0), outRow = output.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                double x = in[inRow + j];
+                double s = sigmoid(x);
+                out[outRow + j] = s * (1.0 - s);
+            }
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package neural.activations;
 
 import neural.core.ActivationFunction;
+import neural.utils.DenseMatrix;
 
 public class Softmax implements ActivationFunction {
 
@@ -55,4 +56,48 @@ public class Softmax implements ActivationFunction {
 
         return grad;
     }
+
+    @Override
+    public DenseMatrix activate(DenseMatrix input) {
+        DenseMatrix output = new DenseMatrix(input.rows(), input.cols());
+        activateInto(input, output);
+        return output;
+    }
+
+    @Override
+    public DenseMatrix derivative(DenseMatrix input) {
+        DenseMatrix grad = new DenseMatrix(input.rows(), input.cols());
+        derivativeInto(input, grad);
+        return grad;
+    }
+
+    @Override
+    public void activateInto(DenseMatrix input, DenseMatrix output) {
+        int rows = input.rows();
+        int cols = input.cols();
+        double[] in = input.data(), out = output.data();
+
+        for (int i = 0; i < rows; i++) {
+            int inRow = input.index(i, 0), outRow = output.index(i, 0);
+
+            double max = in[inRow];
+            for (int j = 1; j < cols; j++)
+                max = Math.max(max, in[inRow + j]);
+
+            double sum = 0.0;
+            for (int j = 0; j < cols; j++) {
+                out[outRow + j] = Math.exp(in[inRow + j] - max);
+                sum += out[outRow + j];
+            }
+
+            for (int j = 0; j < cols; j++)
+                out[outRow + j] /= sum;
+        }
+    }
+
+    @Override
+    public void derivativeInto(DenseMatrix input, DenseMatrix output) {
+        // See derivative(double[][]): unused with Cross-Entropy
+        output.fill(1.0);
+    }
 }
@@ -0,0 +1,85 @@
+package neural.client.benchmark;
+
+import neural.utils.Matrix;
+
+import java.util.Random;
+
+/**
+ * Compares Matrix.dot against the original naive triple loop
+ * for typical DenseLayer shapes (batch x in · in x out).
+ *
+ * Run with a warmed-up JIT in mind: each case is warmed up before timing,
+ * and the reported figure is the best of several timed rounds.
+ */
+public class MatrixDotBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int TIMED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[][] shapes = {
+                // batch, inputs, outputs
+                {8, 4, 16},       // house price: input layer
+                {8, 16, 8},       // house price: hidden layer
+                {32, 256, 256},
+                {64, 784, 128},
+                {128, 1024, 1024},
+                {32, 4096, 4096}
+        };
+
+        Random random = new Random(42);
+        System.out.printf("%-18s %14s %14s %9s%n", "shape", "naive (ms)", "blocked (ms)", "speedup");
+
+        for (int[] shape : shapes) {
+            double[][] A = randomMatrix(shape[0], shape[1], random);
+            double[][] B = randomMatrix(shape[1], shape[2], random);
+
+            double naive = bestTimeMillis(() -> naiveDot(A, B));
+            double blocked = bestTimeMillis(() -> Matrix.dot(A, B));
+
+            System.out.printf("%-18s %14.4f %14.4f %8.2fx%n",
+                    shape[0] + "x" + shape[1] + "x" + shape[2], naive, blocked, naive / blocked);
+        }
+    }
+
+    private static double bestTimeMillis(Runnable kernel) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+            kernel.run();
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            kernel.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    private static double[][] randomMatrix(int rows, int cols, Random random) {
+        double[][] m = new double[rows][cols];
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                m[i][j] = random.nextDouble() * 2 - 1;
+        return m;
+    }
+
+    /** The original kernel: the inner loop strides down B's columns. */
+    private static double[][] naiveDot(double[][] A, double[][] B) {
+        int aRows = A.length;
+        int aCols = A[0].length;
+        int bCols = B[0].length;
+
+        double[][] result = new double[aRows][bCols];
+
+        for (int i = 0; i < aRows; i++) {
+            for (int j = 0; j < bCols; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < aCols; k++) {
+                    sum += A[i][k] * B[k][j];
+                }
+                result[i][j] = sum;
+            }
+        }
+        return result;
+    }
+}
@@ -1,7 +1,40 @@
 package neural.core;
 
+import neural.utils.DenseMatrix;
+import neural.utils.Matrix;
+
 public interface ActivationFunction {
     double[][] activate(double[][] input);
     double[][] derivative(double[][] input);
+
+    /** Flat variant; the default adapts through the {@code double[][]} methods. */
+    default DenseMatrix activate(DenseMatrix input) {
+        return DenseMatrix.of(activate(input.toArray()));
+    }
+
+    /** Flat variant; the default adapts through the {@code double[][]} methods. */
+    default DenseMatrix derivative(DenseMatrix input) {
+        return DenseMatrix.of(derivative(input.toArray()));
+    }
+
+    /** Writes activate(input) into a preallocated output of the same shape (may alias input). */
+    default void activateInto(DenseMatrix input, DenseMatrix output) {
+        output.copyFrom(activate(input));
+    }
+
+    /**
+     * Forward step of a dense layer: adds the [1 x cols] bias to every row of z in place
+     * (z is kept as the pre-activation cache) and writes activate(z) into output.
+     * Element-wise activations override this to do both in a single pass over z.
+     */
+    default void addBiasActivateInto(DenseMatrix z, DenseMatrix bias, DenseMatrix output) {
+        Matrix.addInto(z, bias, z);
+        activateInto(z, output);
+    }
+
+    /** Writes derivative(input) into a preallocated output of the same shape (may alias input). */
+    default void derivativeInto(DenseMatrix input, DenseMatrix output) {
+        output.copyFrom(derivative(input));
+    }
 }
 
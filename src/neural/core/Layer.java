@@ -1,8 +1,28 @@
 package neural.core;
 
+import neural.utils.DenseMatrix;
+
 public interface Layer {
     double[][] forward(double[][] input);
     double[][] backward(double[][] gradOutput);
     void updateParameters(Optimizer optimizer);
+
+    /** Flat variant used by NeuralNetwork; the default adapts through the {@code double[][]} methods. */
+    default DenseMatrix forward(DenseMatrix input) {
+        return DenseMatrix.of(forward(input.toArray()));
+    }
+
+    /** Flat variant used by NeuralNetwork; the default adapts through the {@code double[][]} methods. */
+    default DenseMatrix backward(DenseMatrix gradOutput) {
+        return DenseMatrix.of(backward(gradOutput.toArray()));
+    }
+
+    /**
+     * Preallocates forward/backward buffers for batches of up to maxBatchSize rows.
+     * After compiling, the flat forward/backward results are layer-owned buffers that the
+     * next call overwrites. Layers without workspaces ignore this.
+     */
+    default void compile(int maxBatchSize) {
+    }
 }
 
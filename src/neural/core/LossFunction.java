@@ -1,6 +1,23 @@
 package neural.core;
 
+import neural.utils.DenseMatrix;
+
 public interface LossFunction {
     double compute(double[][] predicted, double[][] actual);
     double[][] gradient(double[][] predicted, double[][] actual);
+
+    /** Flat variant; the default adapts through the {@code double[][]} methods. */
+    default double compute(DenseMatrix predicted, DenseMatrix actual) {
+        return compute(predicted.toArray(), actual.toArray());
+    }
+
+    /** Flat variant; the default adapts through the {@code double[][]} methods. */
+    default DenseMatrix gradient(DenseMatrix predicted, DenseMatrix actual) {
+        return DenseMatrix.of(gradient(predicted.toArray(), actual.toArray()));
+    }
+
+    /** Writes gradient(predicted, actual) into a preallocated output of the same shape. */
+    default void gradientInto(DenseMatrix predicted, DenseMatrix actual, DenseMatrix output) {
+        output.copyFrom(gradient(predicted, actual));
+    }
 }
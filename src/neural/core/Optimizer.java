@@ -1,6 +1,14 @@
 package neural.core;
 
+import neural.utils.DenseMatrix;
+
 public interface Optimizer {
     void update(double[][] weights, double[][] gradients);
-}
 
+    /** Flat variant; the default updates a jagged copy and writes it back. */
+    default void update(DenseMatrix weights, DenseMatrix gradients) {
+        double[][] updated = weights.toArray();
+        update(updated, gradients.toArray());
+        weights.copyFrom(updated);
+    }
+}
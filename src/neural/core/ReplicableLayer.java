@@ -0,0 +1,24 @@
+package neural.core;
+
+import java.util.List;
+
+/**
+ * A {@link Layer} that supports data-parallel training. {@code ParallelTrainer} requires
+ * every layer of the network to implement it and checks this when it is constructed.
+ */
+public interface ReplicableLayer extends Layer {
+
+    /**
+     * Creates a worker copy for data-parallel training: it shares this layer's parameters
+     * but owns its caches, workspaces and gradients, so replicas can run forward/backward
+     * on different shards of a batch concurrently.
+     */
+    ReplicableLayer replicate();
+
+    /**
+     * Sets stripe {@code stripe} of {@code stripes} of this layer's gradients to the sum of
+     * the replicas' gradients, added in list order. Stripes are disjoint, so they can be
+     * reduced concurrently and the result does not depend on scheduling.
+     */
+    void reduceGradients(List<? extends ReplicableLayer> replicas, int stripe, int stripes);
+}
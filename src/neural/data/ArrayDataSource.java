@@ -0,0 +1,49 @@
+package neural.data;
+
+/** {@link DataSource} over in-memory arrays, for feeding existing {@code double[][]} data to a {@link DataLoader}. */
+public class ArrayDataSource implements DataSource {
+
+    private final double[][] X;
+    private final double[][] y;
+
+    public ArrayDataSource(double[][] X, double[][] y) {
+        if (X.length != y.length)
+            throw new IllegalArgumentException("X and y must have the same number of rows.");
+        if (X.length == 0)
+            throw new IllegalArgumentException("Dataset is empty.");
+
+        this.X = X;
+        this.y = y;
+    }
+
+    @Override
+    public int featureCount() {
+        return X[0].length;
+    }
+
+    @Override
+    public int outputCount() {
+        return y[0].length;
+    }
+
+    @Override
+    public RowReader open() {
+        return new RowReader() {
+            private int next = 0;
+
+            @Override
+            public boolean next(double[] features, double[] targets) {
+                if (next == X.length)
+                    return false;
+                System.arraycopy(X[next], 0, features, 0, features.length);
+                System.arraycopy(y[next], 0, targets, 0, targets.length);
+                next++;
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
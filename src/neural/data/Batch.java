@@ -0,0 +1,50 @@
+package neural.data;
+
+import neural.utils.BatchBuffer;
+import neural.utils.DenseMatrix;
+
+/**
+ * One mini-batch from a {@link BatchIterator}. The matrices are views over storage that
+ * the iterator recycles, so they are only valid until the next call to {@code next()}.
+ */
+public final class Batch {
+
+    private final BatchBuffer features;
+    private final BatchBuffer targets;
+    private int size;
+
+    Batch(int capacity, int featureCount, int outputCount) {
+        this.features = new BatchBuffer(capacity, featureCount);
+        this.targets = new BatchBuffer(capacity, outputCount);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** size() x features matrix of inputs. */
+    public DenseMatrix features() {
+        return features.rows(size);
+    }
+
+    /** size() x outputs matrix of targets. */
+    public DenseMatrix targets() {
+        return targets.rows(size);
+    }
+
+    int capacity() {
+        return features.capacity();
+    }
+
+    DenseMatrix featureStorage() {
+        return features.rows(features.capacity());
+    }
+
+    DenseMatrix targetStorage() {
+        return targets.rows(targets.capacity());
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+}
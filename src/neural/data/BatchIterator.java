@@ -0,0 +1,285 @@
+package neural.data;
+
+import neural.utils.Dataset;
+import neural.utils.DenseMatrix;
+import neural.utils.NormalizationStats;
+import neural.utils.NormalizationType;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * One epoch of mini-batches from a {@link DataLoader}.
+ *
+ * With prefetching, a daemon thread fills batches from a pool of {@code prefetch + 1}
+ * recycled buffers and hands them over through a bounded queue. The batch returned by
+ * {@link #next()} goes back to the pool on the following call, so steady-state
+ * iteration allocates nothing and memory stays bounded no matter how large the source is.
+ * If reading the source fails, hasNext()/next() rethrow that failure on every later call.
+ */
+public final class BatchIterator implements Iterator<Batch>, AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final RowReader reader;
+    private final RandomAccessDataSource blockSource;
+    private long nextRow;
+    private final int batchSize;
+    private final Random random;
+    private final NormalizationStats stats;
+    private final NormalizationType normalization;
+
+    // Shuffle buffer: rows waiting to be emitted in random order
+    private final double[][] bufferedFeatures;
+    private final double[][] bufferedTargets;
+    private int buffered;
+    private boolean exhausted;
+
+    private final double[] featureRow;
+    private final double[] targetRow;
+
+    // Prefetch state (null when reading synchronously)
+    private final Thread producer;
+    private final BlockingQueue<Batch> free;
+    private final BlockingQueue<Object> ready;
+
+    private Batch syncBatch;
+    private Batch current;
+    private Object pending;
+    private boolean closed;
+
+    // First failure of the source, rethrown by every later call: the producer has exited
+    private RuntimeException failure;
+    private Error fatal;
+
+    BatchIterator(DataSource source, int batchSize, int shuffleBuffer, int prefetch,
+                  Random random, NormalizationStats stats, NormalizationType normalization) {
+        int features = source.featureCount();
+        int outputs = source.outputCount();
+
+        this.batchSize = batchSize;
+        this.random = random;
+        this.stats = stats;
+        this.normalization = normalization;
+        this.bufferedFeatures = new double[shuffleBuffer][features];
+        this.bufferedTargets = new double[shuffleBuffer][outputs];
+        this.featureRow = new double[features];
+        this.targetRow = new double[outputs];
+
+        // Unshuffled, unnormalized batches from a random-access source are block copies
+        if (source instanceof RandomAccessDataSource randomAccess && shuffleBuffer == 0 && stats == null) {
+            this.blockSource = randomAccess;
+            this.reader = null;
+        } else {
+            this.blockSource = null;
+            this.reader = source.open();
+        }
+
+        if (prefetch == 0) {
+            this.producer = null;
+            this.free = null;
+            this.ready = null;
+            this.syncBatch = new Batch(batchSize, features, outputs);
+            return;
+        }
+
+        this.free = new ArrayBlockingQueue<>(prefetch + 1);
+        this.ready = new ArrayBlockingQueue<>(prefetch + 1);
+        for (int i = 0; i <= prefetch; i++)
+            free.add(new Batch(batchSize, features, outputs));
+
+        this.producer = new Thread(this::produce, "nn-prefetch");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /* =========================
+       Producer side
+       ========================= */
+
+    private void produce() {
+        try {
+            while (true) {
+                Batch batch = free.take();
+                if (!fill(batch)) {
+                    ready.put(END);
+                    return;
+                }
+                ready.put(batch);
+            }
+        } catch (InterruptedException e) {
+            // close() was called; just stop
+        } catch (RuntimeException | Error e) {
+            ready.offer(e);
+        } finally {
+            closeReader();
+        }
+    }
+
+    /** Fills the batch with up to batchSize rows; false when no rows are left. */
+    private boolean fill(Batch batch) {
+        DenseMatrix X = batch.featureStorage();
+        DenseMatrix y = batch.targetStorage();
+
+        if (blockSource != null) {
+            int n = (int) Math.min(batchSize, blockSource.rowCount() - nextRow);
+            blockSource.readRows(nextRow, n, X, y);
+            nextRow += n;
+            batch.setSize(n);
+            return n > 0;
+        }
+
+        int n = 0;
+        while (n < batchSize && nextRow()) {
+            X.copyRowFrom(n, featureRow);
+            y.copyRowFrom(n, targetRow);
+            n++;
+        }
+
+        batch.setSize(n);
+        return n > 0;
+    }
+
+    /** Reads the next row, after shuffling, into featureRow/targetRow. */
+    private boolean nextRow() {
+        int capacity = bufferedFeatures.length;
+        if (capacity == 0) {
+            if (!reader.next(featureRow, targetRow))
+                return false;
+            normalize(featureRow);
+            return true;
+        }
+
+        while (!exhausted && buffered < capacity) {
+            if (reader.next(bufferedFeatures[buffered], bufferedTargets[buffered]))
+                buffered++;
+            else
+                exhausted = true;
+        }
+
+        if (buffered == 0)
+            return false;
+
+        // Emit a random buffered row, then refill its slot from the source
+        int slot = random.nextInt(buffered);
+        System.arraycopy(bufferedFeatures[slot], 0, featureRow, 0, featureRow.length);
+        System.arraycopy(bufferedTargets[slot], 0, targetRow, 0, targetRow.length);
+        normalize(featureRow);
+
+        if (exhausted || !reader.next(bufferedFeatures[slot], bufferedTargets[slot])) {
+            exhausted = true;
+            buffered--;
+            swap(bufferedFeatures, slot, buffered);
+            swap(bufferedTargets, slot, buffered);
+        }
+        return true;
+    }
+
+    private void normalize(double[] row) {
+        if (stats != null)
+            Dataset.normalizeRow(row, stats, normalization);
+    }
+
+    private static void swap(double[][] rows, int i, int j) {
+        double[] tmp = rows[i];
+        rows[i] = rows[j];
+        rows[j] = tmp;
+    }
+
+    private void closeReader() {
+        if (reader != null)
+            reader.close();
+    }
+
+    /* =========================
+       Consumer side
+       ========================= */
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null)
+            pending = take();
+        return pending != END;
+    }
+
+    /** The returned batch is valid until the next call to next() or close(). */
+    @Override
+    public Batch next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        Batch batch = (Batch) pending;
+        pending = null;
+        current = batch;
+        return batch;
+    }
+
+    private Object take() {
+        rethrowFailure();
+        if (closed)
+            return END;
+
+        if (producer == null) {
+            current = null;
+            try {
+                return fill(syncBatch) ? syncBatch : END;
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } catch (Error e) {
+                fatal = e;
+                throw e;
+            }
+        }
+
+        // The previous batch is no longer in use; hand it back to the producer
+        if (current != null) {
+            free.add(current);
+            current = null;
+        }
+
+        try {
+            Object item = ready.take();
+            if (item instanceof RuntimeException e)
+                failure = e;
+            else if (item instanceof Error e)
+                fatal = e;
+            rethrowFailure();
+            return item;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next batch", e);
+        }
+    }
+
+    private void rethrowFailure() {
+        if (failure != null)
+            throw failure;
+        if (fatal != null)
+            throw fatal;
+    }
+
+    /** Stops the prefetch thread and releases the source. Safe to call more than once. */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        pending = null;
+
+        if (producer == null) {
+            closeReader();
+            return;
+        }
+
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package neural.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams rows from a binary dataset file, skipping text parsing entirely.
+ *
+ * Layout (little-endian): int magic {@code "NNDS"}, int version, long rows,
+ * int features, int outputs, then {@code rows} records of {@code features}
+ * feature doubles followed by {@code outputs} target doubles.
+ * Files are written with {@link #write(Path, double[][], double[][])}.
+ */
+public class BinaryDataSource implements DataSource {
+
+    static final int MAGIC = 0x5344_4E4E; // "NNDS" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final long rows;
+    private final int features;
+    private final int outputs;
+
+    public BinaryDataSource(Path path) {
+        this.path = path;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+
+            if (header.getInt() != MAGIC)
+                throw new IllegalArgumentException(path + " is not a binary dataset file.");
+            int version = header.getInt();
+            if (version == MappedDataset.VERSION)
+                throw new IllegalArgumentException(path + " is a blocked dataset file; open it with MappedDataset.");
+            if (version != VERSION)
+                throw new IllegalArgumentException(path + " has unsupported format version " + version);
+
+            this.rows = header.getLong();
+            this.features = header.getInt();
+            this.outputs = header.getInt();
+
+            long expected = HEADER_BYTES + rows * (features + outputs) * (long) Double.BYTES;
+            if (channel.size() < expected)
+                throw new IllegalArgumentException(
+                        path + " is truncated: expected " + expected + " bytes, found " + channel.size()
+                );
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path, e);
+        }
+    }
+
+    /** Writes X and y as a binary dataset file. */
+    public static void write(Path path, double[][] X, double[][] y) {
+        if (X.length != y.length)
+            throw new IllegalArgumentException("X and y must have the same number of rows.");
+        if (X.length == 0)
+            throw new IllegalArgumentException("Dataset is empty.");
+
+        int features = X[0].length;
+        int outputs = y[0].length;
+        int rowBytes = (features + outputs) * Double.BYTES;
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(READ_BUFFER_BYTES, HEADER_BYTES + rowBytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(X.length).putInt(features).putInt(outputs);
+
+            for (int i = 0; i < X.length; i++) {
+                if (X[i].length != features || y[i].length != outputs)
+                    throw new IllegalArgumentException("Row " + i + " has a different width than row 0.");
+
+                if (buffer.remaining() < rowBytes)
+                    flush(channel, buffer);
+
+                for (double v : X[i]) buffer.putDouble(v);
+                for (double v : y[i]) buffer.putDouble(v);
+            }
+            flush(channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + path, e);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new IOException("Unexpected end of file");
+    }
+
+    public long rowCount() {
+        return rows;
+    }
+
+    @Override
+    public int featureCount() {
+        return features;
+    }
+
+    @Override
+    public int outputCount() {
+        return outputs;
+    }
+
+    @Override
+    public RowReader open() {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            channel.position(HEADER_BYTES);
+            return new BinaryRowReader(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + path, e);
+        }
+    }
+
+    private final class BinaryRowReader implements RowReader {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int rowBytes = (features + outputs) * Double.BYTES;
+        private long remaining = rows;
+
+        BinaryRowReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(READ_BUFFER_BYTES, rowBytes))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip(); // start empty
+        }
+
+        @Override
+        public boolean next(double[] featureRow, double[] targetRow) {
+            if (remaining == 0)
+                return false;
+
+            if (buffer.remaining() < rowBytes) {
+                try {
+                    buffer.compact();
+                    while (buffer.position() < rowBytes)
+                        if (channel.read(buffer) < 0)
+                            throw new IllegalStateException(path + " ended before its declared row count.");
+                    buffer.flip();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read " + path, e);
+                }
+            }
+
+            for (int j = 0; j < features; j++)
+                featureRow[j] = buffer.getDouble();
+            for (int j = 0; j < outputs; j++)
+                targetRow[j] = buffer.getDouble();
+
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close " + path, e);
+            }
+        }
+    }
+}
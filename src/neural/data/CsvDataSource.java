@@ -0,0 +1,167 @@
+package neural.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams rows from a delimited text file. The last {@code outputs} columns of each
+ * line are the targets and the remaining columns are the features. Blank lines are skipped.
+ * The file is re-read on every {@link #open()}, so only one row is in memory at a time.
+ */
+public class CsvDataSource implements DataSource {
+
+    private final Path path;
+    private final int outputs;
+    private final boolean hasHeader;
+    private final char delimiter;
+    private final int features;
+
+    public CsvDataSource(Path path, int outputs) {
+        this(path, outputs, false, ',');
+    }
+
+    public CsvDataSource(Path path, int outputs, boolean hasHeader) {
+        this(path, outputs, hasHeader, ',');
+    }
+
+    public CsvDataSource(Path path, int outputs, boolean hasHeader, char delimiter) {
+        if (outputs <= 0)
+            throw new IllegalArgumentException("Output count must be positive.");
+
+        this.path = path;
+        this.outputs = outputs;
+        this.hasHeader = hasHeader;
+        this.delimiter = delimiter;
+        this.features = countColumns() - outputs;
+
+        if (features <= 0)
+            throw new IllegalArgumentException(
+                    "CSV file " + path + " has no feature columns besides the " + outputs + " target column(s)."
+            );
+    }
+
+    /** Column count of the first data line (or of the header). */
+    private int countColumns() {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank())
+                    continue;
+
+                int columns = 1;
+                for (int i = 0; i < line.length(); i++)
+                    if (line.charAt(i) == delimiter)
+                        columns++;
+                return columns;
+            }
+            throw new IllegalArgumentException("CSV file " + path + " is empty.");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path, e);
+        }
+    }
+
+    @Override
+    public int featureCount() {
+        return features;
+    }
+
+    @Override
+    public int outputCount() {
+        return outputs;
+    }
+
+    @Override
+    public RowReader open() {
+        try {
+            BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            if (hasHeader)
+                reader.readLine();
+            return new CsvRowReader(reader, hasHeader ? 1 : 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + path, e);
+        }
+    }
+
+    private final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        CsvRowReader(BufferedReader reader, int linesConsumed) {
+            this.reader = reader;
+            this.lineNumber = linesConsumed;
+        }
+
+        @Override
+        public boolean next(double[] featureRow, double[] targetRow) {
+            String line;
+            try {
+                do {
+                    line = reader.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read " + path, e);
+            }
+
+            if (line == null)
+                return false;
+
+            // Scan the fields in place instead of allocating a String[] per line
+            int column = 0;
+            int start = 0;
+            int length = line.length();
+            for (int i = 0; i <= length; i++) {
+                if (i < length && line.charAt(i) != delimiter)
+                    continue;
+
+                if (column >= features + outputs)
+                    throw columnMismatch(column + 1);
+
+                double value = parse(line, start, i, column);
+                if (column < features)
+                    featureRow[column] = value;
+                else
+                    targetRow[column - features] = value;
+
+                column++;
+                start = i + 1;
+            }
+
+            if (column != features + outputs)
+                throw columnMismatch(column);
+            return true;
+        }
+
+        private double parse(String line, int from, int to, int column) {
+            try {
+                return Double.parseDouble(line.substring(from, to).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        path + ":" + lineNumber + ": column " + (column + 1) + " is not a number: '"
+                                + line.substring(from, to) + "'"
+                );
+            }
+        }
+
+        private IllegalArgumentException columnMismatch(int found) {
+            return new IllegalArgumentException(
+                    path + ":" + lineNumber + ": expected " + (features + outputs)
+                            + " columns but found " + found
+            );
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close " + path, e);
+            }
+        }
+    }
+}
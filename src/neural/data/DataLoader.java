@@ -0,0 +1,89 @@
+package neural.data;
+
+import neural.utils.NormalizationStats;
+import neural.utils.NormalizationType;
+
+import java.util.Random;
+
+/**
+ * Turns a {@link DataSource} into a stream of mini-batches, one epoch per {@link #iterator()}.
+ *
+ * Rows pass through a bounded shuffle buffer: it holds {@code shuffleBuffer} rows and
+ * emits a random one each time a new row is read. That gives a local shuffle of
+ * arbitrarily large files in fixed memory. A full shuffle only needs a buffer at
+ * least as large as the dataset. Reading, parsing and batch assembly run on a
+ * background thread up to {@code prefetch} batches ahead of training.
+ *
+ * <pre>
+ * DataLoader loader = new DataLoader(new CsvDataSource(path, 1, true), 64)
+ *         .shuffleBuffer(10_000)
+ *         .prefetch(4)
+ *         .seed(42);
+ * network.train(loader, 100, 0.001);
+ * </pre>
+ */
+public class DataLoader {
+
+    private final DataSource source;
+    private final int batchSize;
+
+    private int shuffleBuffer = 0;
+    private int prefetch = 2;
+    private Random random = new Random();
+    private NormalizationStats stats;
+    private NormalizationType normalization;
+
+    public DataLoader(DataSource source, int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive.");
+
+        this.source = source;
+        this.batchSize = batchSize;
+    }
+
+    /** Rows held for shuffling; 0 (the default) keeps the file order. */
+    public DataLoader shuffleBuffer(int rows) {
+        if (rows < 0)
+            throw new IllegalArgumentException("Shuffle buffer size must not be negative.");
+        this.shuffleBuffer = rows;
+        return this;
+    }
+
+    /** Batches prepared ahead on the background thread; 0 reads synchronously on the caller's thread. */
+    public DataLoader prefetch(int batches) {
+        if (batches < 0)
+            throw new IllegalArgumentException("Prefetch depth must not be negative.");
+        this.prefetch = batches;
+        return this;
+    }
+
+    /** Makes the shuffle order reproducible. */
+    public DataLoader seed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /** Normalizes the features of every row as they are read, like {@code Dataset.normalize}. */
+    public DataLoader normalize(NormalizationStats stats, NormalizationType type) {
+        if (type == null)
+            throw new IllegalArgumentException("Normalization type cannot be null.");
+        this.stats = stats;
+        this.normalization = type;
+        return this;
+    }
+
+    public DataSource getSource() {
+        return source;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** Starts a new pass over the source. Close the iterator if the epoch is abandoned early. */
+    public BatchIterator iterator() {
+        // Each epoch draws its own seed so the shuffle differs between epochs but stays reproducible
+        return new BatchIterator(source, batchSize, shuffleBuffer, prefetch,
+                new Random(random.nextLong()), stats, normalization);
+    }
+}
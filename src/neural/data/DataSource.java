@@ -0,0 +1,15 @@
+package neural.data;
+
+/**
+ * A dataset that is read row by row instead of being held in memory as {@code double[][]}.
+ * Each row has {@link #featureCount()} inputs followed by {@link #outputCount()} targets.
+ */
+public interface DataSource {
+
+    int featureCount();
+
+    int outputCount();
+
+    /** Opens a new sequential pass over all rows (one epoch). The caller closes it. */
+    RowReader open();
+}
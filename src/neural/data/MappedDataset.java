@@ -0,0 +1,397 @@
+package neural.data;
+
+import neural.utils.Dataset;
+import neural.utils.DenseMatrix;
+import neural.utils.NormalizationStats;
+import neural.utils.NormalizationType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary dataset that is written once and then read through {@code FileChannel.map}.
+ * Opening one costs only a header read, whatever the file size.
+ *
+ * Layout (little-endian, version 2 of the {@link BinaryDataSource} format):
+ * <pre>
+ * int magic "NNDS", int version, long rows, int features, int outputs,
+ * int value width (8 = double, 4 = float), int normalization (-1 = none, else NormalizationType ordinal),
+ * [features doubles: min or mean, features doubles: max or std]   -- only when normalized
+ * padding to 64 bytes
+ * rows x features values (row-major), padding to 64 bytes
+ * rows x outputs values (row-major)
+ * </pre>
+ * Features and targets are separate blocks, so a run of rows is one contiguous range
+ * in each. {@link #readRows} moves a whole batch with a single bulk copy per block
+ * into a recycled {@link DenseMatrix}. Features are stored already normalized, and the
+ * stats are kept so that new inputs can be normalized the same way at prediction time.
+ */
+public class MappedDataset implements RandomAccessDataSource {
+
+    static final int VERSION = 2;
+    private static final int FIXED_HEADER_BYTES = 32;
+    private static final int ALIGNMENT = 64;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final long rows;
+    private final int features;
+    private final int outputs;
+    private final Precision precision;
+    private final NormalizationType normalization;
+    private final NormalizationStats stats;
+
+    private final Block featureBlock;
+    private final Block targetBlock;
+
+    public MappedDataset(Path path) {
+        this.path = path;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel, FIXED_HEADER_BYTES, 0);
+
+            if (header.getInt() != BinaryDataSource.MAGIC)
+                throw new IllegalArgumentException(path + " is not a binary dataset file.");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IllegalArgumentException(
+                        path + " has format version " + version + "; MappedDataset reads version " + VERSION
+                );
+
+            this.rows = header.getLong();
+            this.features = header.getInt();
+            this.outputs = header.getInt();
+            if (rows < 0 || features < 0 || outputs < 0)
+                throw new IllegalArgumentException(path + " has a corrupt header: negative row or column count.");
+            this.precision = Precision.ofBytes(header.getInt());
+            int normalizationCode = header.getInt();
+
+            if (normalizationCode < 0) {
+                this.normalization = null;
+                this.stats = null;
+            } else {
+                this.normalization = NormalizationType.values()[normalizationCode];
+                ByteBuffer statBytes = readHeader(channel, 2 * features * Double.BYTES, FIXED_HEADER_BYTES);
+                double[] first = new double[features];
+                double[] second = new double[features];
+                statBytes.asDoubleBuffer().get(first).get(second);
+                this.stats = normalization == NormalizationType.MIN_MAX
+                        ? new NormalizationStats(first, second, null, null)
+                        : new NormalizationStats(null, null, first, second);
+            }
+
+            long featureOffset = headerBytes(features, normalization != null);
+            long featureEnd = featureOffset + rows * features * precision.bytes();
+            long targetOffset = align(featureEnd);
+            long targetBytes = rows * outputs * precision.bytes();
+            // An empty targets block is not padded to its aligned offset
+            long expected = targetBytes == 0 ? featureEnd : targetOffset + targetBytes;
+            if (channel.size() < expected)
+                throw new IllegalArgumentException(
+                        path + " is truncated: expected " + expected + " bytes, found " + channel.size()
+                );
+
+            this.featureBlock = new Block(channel, featureOffset, rows, features, precision);
+            this.targetBlock = new Block(channel, targetOffset, rows, outputs, precision);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path, e);
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, int bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of file");
+        return buffer.flip();
+    }
+
+    private static long headerBytes(int features, boolean normalized) {
+        return align(FIXED_HEADER_BYTES + (normalized ? 2L * features * Double.BYTES : 0));
+    }
+
+    private static long align(long position) {
+        return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /* =========================
+       Accessors
+       ========================= */
+
+    @Override
+    public long rowCount() {
+        return rows;
+    }
+
+    @Override
+    public int featureCount() {
+        return features;
+    }
+
+    @Override
+    public int outputCount() {
+        return outputs;
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /** Stats the stored features were normalized with, or null if they are raw. */
+    public NormalizationStats getNormalizationStats() {
+        return stats;
+    }
+
+    public NormalizationType getNormalizationType() {
+        return normalization;
+    }
+
+    /* =========================
+       Reading
+       ========================= */
+
+    @Override
+    public void readRows(long from, int count, DenseMatrix X, DenseMatrix y) {
+        if (from < 0 || count < 0 || from + count > rows)
+            throw new IndexOutOfBoundsException(
+                    "Rows [" + from + ", " + (from + count) + ") out of bounds for " + rows + " rows"
+            );
+        featureBlock.read(from, count, X);
+        targetBlock.read(from, count, y);
+    }
+
+    public void readRow(long row, double[] featureRow, double[] targetRow) {
+        if (row < 0 || row >= rows)
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rows + " rows");
+        featureBlock.readRow(row, featureRow);
+        targetBlock.readRow(row, targetRow);
+    }
+
+    @Override
+    public RowReader open() {
+        return new RowReader() {
+            private long next = 0;
+
+            @Override
+            public boolean next(double[] featureRow, double[] targetRow) {
+                if (next == rows)
+                    return false;
+                readRow(next++, featureRow, targetRow);
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * One row-major block of the file, mapped in segments of whole rows because a
+     * single mapping is limited to 2 GB. Reads use absolute gets, so concurrent readers
+     * (e.g. a prefetch thread) never share a position.
+     */
+    private static final class Block {
+
+        private final int width;
+        private final long rowsPerSegment;
+        private final DoubleBuffer[] doubles;
+        private final FloatBuffer[] floats;
+
+        Block(FileChannel channel, long offset, long rows, int width, Precision precision) throws IOException {
+            this.width = width;
+            long rowBytes = (long) width * precision.bytes();
+            // A zero-width block (e.g. no outputs) stores nothing and maps no segments
+            this.rowsPerSegment = rowBytes == 0 ? Long.MAX_VALUE : Math.max(1, Integer.MAX_VALUE / rowBytes);
+
+            int segments = rowBytes == 0 ? 0 : (int) ((rows + rowsPerSegment - 1) / rowsPerSegment);
+            this.doubles = precision == Precision.DOUBLE ? new DoubleBuffer[segments] : null;
+            this.floats = precision == Precision.FLOAT ? new FloatBuffer[segments] : null;
+
+            for (int s = 0; s < segments; s++) {
+                long first = s * rowsPerSegment;
+                long count = Math.min(rowsPerSegment, rows - first);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        offset + first * rowBytes, count * rowBytes);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+                if (doubles != null)
+                    doubles[s] = mapped.asDoubleBuffer();
+                else
+                    floats[s] = mapped.asFloatBuffer();
+            }
+        }
+
+        void read(long from, int count, DenseMatrix dst) {
+            if (width == 0)
+                return;
+            double[] data = dst.data();
+            int done = 0;
+
+            while (done < count) {
+                long row = from + done;
+                int segment = (int) (row / rowsPerSegment);
+                int segmentRow = (int) (row % rowsPerSegment);
+                int n = (int) Math.min(count - done, rowsPerSegment - segmentRow);
+
+                if (doubles != null && dst.isContiguous()) {
+                    // One bulk copy for the whole run of rows
+                    doubles[segment].get(segmentRow * width, data, dst.index(done, 0), n * width);
+                } else {
+                    for (int i = 0; i < n; i++)
+                        copyRow(segment, (segmentRow + i) * width, data, dst.index(done + i, 0));
+                }
+                done += n;
+            }
+        }
+
+        void readRow(long row, double[] dst) {
+            if (width == 0)
+                return;
+            int segment = (int) (row / rowsPerSegment);
+            int segmentRow = (int) (row % rowsPerSegment);
+            copyRow(segment, segmentRow * width, dst, 0);
+        }
+
+        private void copyRow(int segment, int index, double[] dst, int offset) {
+            if (doubles != null) {
+                doubles[segment].get(index, dst, offset, width);
+            } else {
+                FloatBuffer source = floats[segment];
+                for (int j = 0; j < width; j++)
+                    dst[offset + j] = source.get(index + j);
+            }
+        }
+    }
+
+    /* =========================
+       Writing
+       ========================= */
+
+    /** Writes X and y as doubles, without normalization. */
+    public static void write(Path path, double[][] X, double[][] y) {
+        write(path, new ArrayDataSource(X, y), null, null, Precision.DOUBLE);
+    }
+
+    /** Writes X (normalized with stats, if given) and y. */
+    public static void write(Path path, double[][] X, double[][] y,
+                             NormalizationStats stats, NormalizationType type, Precision precision) {
+        write(path, new ArrayDataSource(X, y), stats, type, precision);
+    }
+
+    /**
+     * Converts any source, e.g. a {@link CsvDataSource}, in one streaming pass.
+     * Features are normalized with stats before being stored when stats is not null.
+     * Targets are staged in a temporary file next to the output, so memory use is fixed.
+     */
+    public static void write(Path path, DataSource source,
+                             NormalizationStats stats, NormalizationType type, Precision precision) {
+        if (stats != null && type == null)
+            throw new IllegalArgumentException("Normalization type is required with normalization stats.");
+
+        int features = source.featureCount();
+        int outputs = source.outputCount();
+        if (features < 0 || outputs < 0)
+            throw new IllegalArgumentException("Feature and output counts must not be negative.");
+        long headerBytes = headerBytes(features, stats != null);
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path targetsFile = null;
+
+        try (FileChannel out = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            targetsFile = Files.createTempFile(directory, ".dataset", ".targets");
+
+            long rows = 0;
+            try (FileChannel targets = FileChannel.open(targetsFile,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 RowReader reader = source.open()) {
+
+                ByteBuffer featureBuffer = writeBuffer(features, precision);
+                ByteBuffer targetBuffer = writeBuffer(outputs, precision);
+                double[] featureRow = new double[features];
+                double[] targetRow = new double[outputs];
+
+                out.position(headerBytes);
+                while (reader.next(featureRow, targetRow)) {
+                    if (stats != null)
+                        Dataset.normalizeRow(featureRow, stats, type);
+                    put(out, featureBuffer, featureRow, precision);
+                    put(targets, targetBuffer, targetRow, precision);
+                    rows++;
+                }
+                flush(out, featureBuffer);
+                flush(targets, targetBuffer);
+
+                // Append the targets block after the aligned end of the features block
+                long targetOffset = align(headerBytes + rows * features * precision.bytes());
+                long copied = 0;
+                long size = targets.size();
+                while (copied < size)
+                    copied += targets.transferTo(copied, size - copied, out.position(targetOffset + copied));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate((int) headerBytes).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BinaryDataSource.MAGIC).putInt(VERSION).putLong(rows)
+                    .putInt(features).putInt(outputs).putInt(precision.bytes())
+                    .putInt(stats == null ? -1 : type.ordinal());
+            if (stats != null) {
+                boolean minMax = type == NormalizationType.MIN_MAX;
+                for (double v : minMax ? stats.min : stats.mean) header.putDouble(v);
+                for (double v : minMax ? stats.max : stats.std) header.putDouble(v);
+            }
+            header.clear();
+            while (header.hasRemaining())
+                out.write(header, header.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + path, e);
+        } finally {
+            if (targetsFile != null) {
+                try {
+                    Files.deleteIfExists(targetsFile);
+                } catch (IOException ignored) {
+                    // best effort; the file is in the output directory and clearly named
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer writeBuffer(int width, Precision precision) {
+        return ByteBuffer.allocateDirect(Math.max(WRITE_BUFFER_BYTES, width * precision.bytes()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, double[] row, Precision precision)
+            throws IOException {
+        if (buffer.remaining() < row.length * precision.bytes())
+            flush(channel, buffer);
+
+        if (precision == Precision.DOUBLE)
+            for (double v : row) buffer.putDouble(v);
+        else
+            for (double v : row) buffer.putFloat((float) v);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedDataset[" + path + ", " + rows + " rows, " + features + " -> " + outputs + ", " + precision + "]";
+    }
+}
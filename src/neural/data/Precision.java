@@ -0,0 +1,24 @@
+package neural.data;
+
+/** Storage width of the values in a {@link MappedDataset} file. */
+public enum Precision {
+    DOUBLE(Double.BYTES),
+    FLOAT(Float.BYTES);
+
+    private final int bytes;
+
+    Precision(int bytes) {
+        this.bytes = bytes;
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+
+    static Precision ofBytes(int bytes) {
+        for (Precision precision : values())
+            if (precision.bytes == bytes)
+                return precision;
+        throw new IllegalArgumentException("Unsupported value width: " + bytes + " bytes");
+    }
+}
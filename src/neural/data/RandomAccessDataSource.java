@@ -0,0 +1,16 @@
+package neural.data;
+
+import neural.utils.DenseMatrix;
+
+/**
+ * A {@link DataSource} whose rows can be read in bulk by position. Unshuffled
+ * {@link DataLoader} batches from such a source are filled with one block copy each
+ * instead of row by row.
+ */
+public interface RandomAccessDataSource extends DataSource {
+
+    long rowCount();
+
+    /** Copies rows [from, from + count) into the first count rows of features and targets. */
+    void readRows(long from, int count, DenseMatrix features, DenseMatrix targets);
+}
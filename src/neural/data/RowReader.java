@@ -0,0 +1,14 @@
+package neural.data;
+
+/** Sequential cursor over the rows of a {@link DataSource}. */
+public interface RowReader extends AutoCloseable {
+
+    /**
+     * Copies the next row into {@code features} and {@code targets}.
+     * Returns false, leaving both arrays untouched, once the data is exhausted.
+     */
+    boolean next(double[] features, double[] targets);
+
+    @Override
+    void close();
+}
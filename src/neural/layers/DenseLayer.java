@@ -2,26 +2,38 @@ package neural.layers;
 
 import neural.activations.ReLU;
 import neural.core.Layer;
+import neural.core.ReplicableLayer;
 import neural.core.ActivationFunction;
 import neural.core.Optimizer;
 import neural.core.Initializer;
 import neural.initializers.XavierInitializer;
+import neural.utils.BatchBuffer;
+import neural.utils.DenseMatrix;
 import neural.utils.Matrix;
 
-public class DenseLayer implements Layer {
+import java.util.List;
+
+public class DenseLayer implements ReplicableLayer {
 
     private final ActivationFunction activation;
 
-    private double[][] weights;
-    private double[][] bias;
+    // Parameters are stored flat; the double[][] API converts at the boundary
+    private final DenseMatrix weights;
+    private final DenseMatrix bias;
 
     // Cached values for backpropagation
-    private double[][] inputCache;
-    private double[][] zCache;
+    private DenseMatrix inputCache;
+    private DenseMatrix zCache;
+
+    // Gradients (fixed shape, reused across batches)
+    private final DenseMatrix gradWeights;
+    private final DenseMatrix gradBias;
 
-    // Gradients
-    private double[][] gradWeights;
-    private double[][] gradBias;
+    // Batch-sized workspaces, allocated by compile()
+    private BatchBuffer zBuffer;
+    private BatchBuffer outputBuffer;
+    private BatchBuffer gradZBuffer;
+    private BatchBuffer gradInputBuffer;
 
     public DenseLayer(int inputSize, int outputSize) {
         this(inputSize, outputSize, new ReLU(), new XavierInitializer());
@@ -44,43 +56,121 @@ public class DenseLayer implements Layer {
                       Initializer initializer) {
 
         this.activation = activation;
-        this.weights = initializer.init(inputSize, outputSize);
-        this.bias = new double[1][outputSize];
+        this.weights = DenseMatrix.of(initializer.init(inputSize, outputSize));
+        this.bias = new DenseMatrix(1, outputSize);
+
+        this.gradWeights = new DenseMatrix(inputSize, outputSize);
+        this.gradBias = new DenseMatrix(1, outputSize);
+    }
+
+    /** Replica constructor: shares the source's activation and parameters, owns its gradients. */
+    private DenseLayer(DenseLayer source) {
+        this.activation = source.activation;
+        this.weights = source.weights;
+        this.bias = source.bias;
+
+        this.gradWeights = new DenseMatrix(weights.rows(), weights.cols());
+        this.gradBias = new DenseMatrix(1, bias.cols());
     }
 
     @Override
-    public double[][] forward(double[][] input) {
-        this.inputCache = input;
+    public DenseLayer replicate() {
+        return new DenseLayer(this);
+    }
 
-        double[][] z = Matrix.add(Matrix.dot(input, weights), bias);
-        this.zCache = z;
+    @Override
+    public void reduceGradients(List<? extends ReplicableLayer> replicas, int stripe, int stripes) {
+        int rows = gradWeights.rows();
+        int from = (int) ((long) rows * stripe / stripes);
+        int to = (int) ((long) rows * (stripe + 1) / stripes);
+
+        for (int r = 0; r < replicas.size(); r++) {
+            DenseLayer replica = (DenseLayer) replicas.get(r);
+            accumulateRows(gradWeights, replica.gradWeights, from, to, r == 0);
+            if (stripe == 0)
+                accumulateRows(gradBias, replica.gradBias, 0, 1, r == 0);
+        }
+    }
 
-        return activation.activate(z);
+    /** target[from, to) = source (first replica) or += source (the rest). */
+    private static void accumulateRows(DenseMatrix target, DenseMatrix source,
+                                       int from, int to, boolean overwrite) {
+        int cols = target.cols();
+        double[] t = target.data(), s = source.data();
+
+        for (int i = from; i < to; i++) {
+            int tRow = target.index(i, 0), sRow = source.index(i, 0);
+            if (overwrite) {
+                System.arraycopy(s, sRow, t, tRow, cols);
+            } else {
+                for (int j = 0; j < cols; j++)
+                    t[tRow + j] += s[sRow + j];
+            }
+        }
+    }
+
+    @Override
+    public void compile(int maxBatchSize) {
+        int inputSize = weights.rows();
+        int outputSize = weights.cols();
+
+        zBuffer = new BatchBuffer(maxBatchSize, outputSize);
+        outputBuffer = new BatchBuffer(maxBatchSize, outputSize);
+        gradZBuffer = new BatchBuffer(maxBatchSize, outputSize);
+        gradInputBuffer = new BatchBuffer(maxBatchSize, inputSize);
+    }
+
+    /** Returns a buffer of n rows from the workspace, or a fresh matrix when not compiled for n. */
+    private static DenseMatrix rowsOf(BatchBuffer buffer, int n, int cols) {
+        return buffer != null && n <= buffer.capacity()
+                ? buffer.rows(n)
+                : new DenseMatrix(n, cols);
+    }
+
+    @Override
+    public double[][] forward(double[][] input) {
+        return forward(DenseMatrix.of(input)).toArray();
     }
 
     @Override
     public double[][] backward(double[][] gradOutput) {
+        return backward(DenseMatrix.of(gradOutput)).toArray();
+    }
+
+    @Override
+    public DenseMatrix forward(DenseMatrix input) {
+        int n = input.rows();
+        DenseMatrix z = rowsOf(zBuffer, n, weights.cols());
+        DenseMatrix output = rowsOf(outputBuffer, n, weights.cols());
+
+        // Z = X · W + b, A = activation(Z) (bias and activation in one pass)
+        Matrix.dotInto(input, weights, z);
+        activation.addBiasActivateInto(z, bias, output);
+
+        this.inputCache = input;
+        this.zCache = z;
+        return output;
+    }
+
+    @Override
+    public DenseMatrix backward(DenseMatrix gradOutput) {
+        int n = gradOutput.rows();
+        DenseMatrix gradZ = rowsOf(gradZBuffer, n, weights.cols());
+        DenseMatrix gradInput = rowsOf(gradInputBuffer, n, weights.rows());
 
         // dL/dZ = dL/dA ⊙ activation'(Z)
-        double[][] gradZ = Matrix.hadamard(
-                gradOutput,
-                activation.derivative(zCache)
-        );
+        activation.derivativeInto(zCache, gradZ);
+        Matrix.hadamardInto(gradOutput, gradZ, gradZ);
 
         // dL/dW = Xᵀ · dZ
-        gradWeights = Matrix.dot(
-                Matrix.transpose(inputCache),
-                gradZ
-        );
+        Matrix.dotTransposeAInto(inputCache, gradZ, gradWeights);
 
         // dL/dB = sum rows of dZ
-        gradBias = Matrix.sumRows(gradZ);
+        Matrix.sumRowsInto(gradZ, gradBias);
 
         // dL/dX = dZ · Wᵀ
-        return Matrix.dot(
-                gradZ,
-                Matrix.transpose(weights)
-        );
+        Matrix.dotTransposeBInto(gradZ, weights, gradInput);
+        return gradInput;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package neural.losses;
 
 import neural.core.LossFunction;
+import neural.utils.DenseMatrix;
 
 public class CrossEntropy implements LossFunction {
 
@@ -34,4 +35,41 @@ public class CrossEntropy implements LossFunction {
         }
         return grad;
     }
+
+    @Override
+    public double compute(DenseMatrix predicted, DenseMatrix actual) {
+        int samples = predicted.rows();
+        int classes = predicted.cols();
+        double[] p = predicted.data(), a = actual.data();
+        double loss = 0.0;
+
+        for (int i = 0; i < samples; i++) {
+            int pRow = predicted.index(i, 0), aRow = actual.index(i, 0);
+            for (int j = 0; j < classes; j++) {
+                loss -= a[aRow + j] * Math.log(p[pRow + j] + EPSILON);
+            }
+        }
+        return loss / samples;
+    }
+
+    @Override
+    public DenseMatrix gradient(DenseMatrix predicted, DenseMatrix actual) {
+        DenseMatrix grad = new DenseMatrix(predicted.rows(), predicted.cols());
+        gradientInto(predicted, actual, grad);
+        return grad;
+    }
+
+    @Override
+    public void gradientInto(DenseMatrix predicted, DenseMatrix actual, DenseMatrix output) {
+        int samples = predicted.rows();
+        int classes = predicted.cols();
+        double[] p = predicted.data(), a = actual.data(), g = output.data();
+
+        for (int i = 0; i < samples; i++) {
+            int pRow = predicted.index(i, 0), aRow = actual.index(i, 0), gRow = output.index(i, 0);
+            for (int j = 0; j < classes; j++) {
+                g[gRow + j] = (p[pRow + j] - a[aRow + j]) / samples;
+            }
+        }
+    }
 }
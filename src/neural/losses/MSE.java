@@ -1,6 +1,7 @@
 package neural.losses;
 
 import neural.core.LossFunction;
+import neural.utils.DenseMatrix;
 import neural.utils.Matrix;
 
 public class MSE implements LossFunction {
@@ -38,4 +39,45 @@ public class MSE implements LossFunction {
 
         return grad;
     }
+
+    @Override
+    public double compute(DenseMatrix predicted, DenseMatrix actual) {
+        int samples = predicted.rows();
+        int outputs = predicted.cols();
+        double[] p = predicted.data(), a = actual.data();
+
+        double sum = 0.0;
+
+        for (int i = 0; i < samples; i++) {
+            int pRow = predicted.index(i, 0), aRow = actual.index(i, 0);
+            for (int j = 0; j < outputs; j++) {
+                double diff = p[pRow + j] - a[aRow + j];
+                sum += diff * diff;
+            }
+        }
+
+        return sum / (samples * outputs);
+    }
+
+    @Override
+    public DenseMatrix gradient(DenseMatrix predicted, DenseMatrix actual) {
+        DenseMatrix grad = new DenseMatrix(predicted.rows(), predicted.cols());
+        gradientInto(predicted, actual, grad);
+        return grad;
+    }
+
+    @Override
+    public void gradientInto(DenseMatrix predicted, DenseMatrix actual, DenseMatrix output) {
+        int samples = predicted.rows();
+        int outputs = predicted.cols();
+        double[] p = predicted.data(), a = actual.data(), g = output.data();
+
+        for (int i = 0; i < samples; i++) {
+            int pRow = predicted.index(i, 0), aRow = actual.index(i, 0), gRow = output.index(i, 0);
+            for (int j = 0; j < outputs; j++) {
+                g[gRow + j] = 2.0 * (p[pRow + j] - a[aRow + j])
+                        / (samples * outputs);
+            }
+        }
+    }
 }
@@ -2,10 +2,15 @@ package neural.model;
 
 import neural.activations.ReLU;
 import neural.core.Layer;
+import neural.data.Batch;
+import neural.data.BatchIterator;
+import neural.data.DataLoader;
 import neural.core.LossFunction;
 import neural.core.Optimizer;
 import neural.losses.MSE;
 import neural.optimizers.SGD;
+import neural.utils.BatchBuffer;
+import neural.utils.DenseMatrix;
 
 import java.util.*;
 
@@ -15,6 +20,10 @@ public class NeuralNetwork {
     private LossFunction loss;
     private Optimizer optimizer;
 
+    // Workspace state set by compile()
+    private int compiledBatchSize = 0;
+    private BatchBuffer lossGradientBuffer;
+
     public NeuralNetwork() {
         this(new MSE(), new SGD());
     }
@@ -34,6 +43,8 @@ public class NeuralNetwork {
     }
 
     public void addLayer(Layer layer) {
+        if (compiledBatchSize > 0)
+            layer.compile(compiledBatchSize);
         layers.add(layer);
     }
 
@@ -65,19 +76,56 @@ public class NeuralNetwork {
         return optimizer;
     }
 
+    /**
+     * Preallocates every layer's forward/backward buffers for batches of up to maxBatchSize rows,
+     * so a training step reuses the same memory instead of allocating new arrays.
+     * train() compiles automatically for its batch size.
+     */
+    public void compile(int maxBatchSize) {
+        if (maxBatchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive.");
+
+        for (Layer layer : layers)
+            layer.compile(maxBatchSize);
+        compiledBatchSize = maxBatchSize;
+        lossGradientBuffer = null; // sized on first use, once the output width is known
+    }
+
+    public int getCompiledBatchSize() {
+        return compiledBatchSize;
+    }
+
     public double[][] forward(double[][] input) {
+        return forward(DenseMatrix.of(input)).toArray();
+    }
+
+    /** After compile(), the result may be a layer-owned buffer that the next forward pass overwrites. */
+    public DenseMatrix forward(DenseMatrix input) {
         for (Layer layer : layers)
             input = layer.forward(input);
         return input;
     }
 
     public void backward(double[][] predicted, double[][] actual) {
-        double[][] grad = loss.gradient(predicted, actual);
+        backward(DenseMatrix.of(predicted), DenseMatrix.of(actual));
+    }
+
+    public void backward(DenseMatrix predicted, DenseMatrix actual) {
+        DenseMatrix grad;
+        if (compiledBatchSize >= predicted.rows()) {
+            if (lossGradientBuffer == null || lossGradientBuffer.cols() != predicted.cols())
+                lossGradientBuffer = new BatchBuffer(compiledBatchSize, predicted.cols());
+            grad = lossGradientBuffer.rows(predicted.rows());
+            loss.gradientInto(predicted, actual, grad);
+        } else {
+            grad = loss.gradient(predicted, actual);
+        }
+
         for (int i = layers.size() - 1; i >= 0; i--)
             grad = layers.get(i).backward(grad);
     }
 
-    private void update() {
+    void update() {
         if (optimizer == null)
             throw new IllegalStateException("Optimizer not set.");
 
@@ -94,14 +142,22 @@ public class NeuralNetwork {
     ) {
 
         int samples = X.length;
+        int features = X[0].length;
+        int outputs = y[0].length;
         Random random = new Random();
 
+        // Reuse layer workspaces and batch matrices across every step
+        int maxBatch = Math.min(batchSize, samples);
+        if (compiledBatchSize < maxBatch)
+            compile(maxBatch);
+
+        BatchBuffer xBuffer = new BatchBuffer(maxBatch, features);
+        BatchBuffer yBuffer = new BatchBuffer(maxBatch, outputs);
+        int[] indices = new int[samples];
+
         for (int epoch = 1; epoch <= epochs; epoch++) {
 
-            List<Integer> indices = new ArrayList<>();
-            for (int i = 0; i < samples; i++)
-                indices.add(i);
-            Collections.shuffle(indices, random);
+            shuffle(indices, random);
 
             double epochLoss = 0.0;
             int batchCount = 0;
@@ -110,15 +166,16 @@ public class NeuralNetwork {
 
                 int end = Math.min(start + batchSize, samples);
 
-                double[][] Xbatch = new double[end - start][];
-                double[][] ybatch = new double[end - start][];
+                // Gather the shuffled rows into contiguous batch matrices
+                DenseMatrix Xbatch = xBuffer.rows(end - start);
+                DenseMatrix ybatch = yBuffer.rows(end - start);
 
                 for (int i = start; i < end; i++) {
-                    Xbatch[i - start] = X[indices.get(i)];
-                    ybatch[i - start] = y[indices.get(i)];
+                    Xbatch.copyRowFrom(i - start, X[indices[i]]);
+                    ybatch.copyRowFrom(i - start, y[indices[i]]);
                 }
 
-                double[][] predicted = forward(Xbatch);
+                DenseMatrix predicted = forward(Xbatch);
                 epochLoss += loss.compute(predicted, ybatch);
                 batchCount++;
 
@@ -144,6 +201,68 @@ public class NeuralNetwork {
         }
     }
 
+    /**
+     * Trains on mini-batches streamed from a {@link DataLoader}, so the dataset never has to
+     * fit in memory. Shuffling, normalization and prefetching are configured on the loader.
+     */
+    public void train(DataLoader loader, int epochs, double lossThreshold) {
+        if (compiledBatchSize < loader.getBatchSize())
+            compile(loader.getBatchSize());
+
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+
+            double epochLoss = 0.0;
+            int batchCount = 0;
+
+            try (BatchIterator batches = loader.iterator()) {
+                while (batches.hasNext()) {
+                    Batch batch = batches.next();
+
+                    DenseMatrix predicted = forward(batch.features());
+                    epochLoss += loss.compute(predicted, batch.targets());
+                    batchCount++;
+
+                    backward(predicted, batch.targets());
+                    update();
+                }
+            }
+
+            if (batchCount == 0)
+                throw new IllegalStateException("Data source produced no rows.");
+            epochLoss /= batchCount;
+
+            System.out.printf(
+                    "Epoch %d/%d - Loss: %.6f%n",
+                    epoch, epochs, epochLoss
+            );
+
+            // Early stopping
+            if (epochLoss <= lossThreshold) {
+                System.out.println(
+                        "Training stopped early: loss threshold reached."
+                );
+                break;
+            }
+        }
+    }
+
+    public void train(DataLoader loader, int epochs) {
+        train(loader, epochs, 0.0);
+    }
+
+    /** Refills indices with 0..n-1 in random order, using the same draws as Collections.shuffle, without boxing. */
+    static void shuffle(int[] indices, Random random) {
+        int samples = indices.length;
+        for (int i = 0; i < samples; i++)
+            indices[i] = i;
+        for (int i = samples; i > 1; i--) {
+            int j = random.nextInt(i);
+            int tmp = indices[i - 1];
+            indices[i - 1] = indices[j];
+            indices[j] = tmp;
+        }
+    }
+
     public void train(double[][] X, double[][] y) {
         train(X, y, 1000, 32, 0.0);
     }
@@ -159,4 +278,9 @@ public class NeuralNetwork {
     public double[][] predict(double[][] input) {
         return forward(input);
     }
+
+    /** Unlike forward(), always returns a matrix owned by the caller. */
+    public DenseMatrix predict(DenseMatrix input) {
+        return forward(input).copy();
+    }
 }
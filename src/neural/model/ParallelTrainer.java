@@ -0,0 +1,254 @@
+package neural.model;
+
+import neural.core.Layer;
+import neural.core.LossFunction;
+import neural.core.ReplicableLayer;
+import neural.utils.BatchBuffer;
+import neural.utils.DenseMatrix;
+import neural.utils.Matrix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Data-parallel mini-batch training for a {@link NeuralNetwork}.
+ *
+ * Each mini-batch is split into one contiguous shard per worker. Every worker runs
+ * forward/backward on its shard through its own layer replicas, which share the
+ * network's weights but own their caches, workspaces and gradients. The replica
+ * gradients are then summed stripe by stripe (each worker reduces a disjoint slice of
+ * every gradient matrix) and the optimizer is applied once, on the network itself.
+ *
+ * Shard boundaries and the order in which replica gradients are added depend only on
+ * the batch and the worker count, never on thread scheduling, so a fixed seed and
+ * worker count reproduce the same weights on every run.
+ *
+ * Every layer of the network must implement {@link ReplicableLayer}; this is checked when
+ * the trainer is constructed and again when training starts.
+ */
+public class ParallelTrainer {
+
+    private final NeuralNetwork network;
+    private final int workers;
+    private final Random random;
+
+    public ParallelTrainer(NeuralNetwork network) {
+        this(network, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelTrainer(NeuralNetwork network, int workers) {
+        this(network, workers, new Random());
+    }
+
+    public ParallelTrainer(NeuralNetwork network, int workers, long seed) {
+        this(network, workers, new Random(seed));
+    }
+
+    private ParallelTrainer(NeuralNetwork network, int workers, Random random) {
+        if (workers <= 0)
+            throw new IllegalArgumentException("Worker count must be positive.");
+        replicableLayers(network);
+
+        this.network = network;
+        this.workers = workers;
+        this.random = random;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /** The network's layers, or IllegalArgumentException naming the first one that cannot be replicated. */
+    private static List<ReplicableLayer> replicableLayers(NeuralNetwork network) {
+        List<ReplicableLayer> layers = new ArrayList<>();
+        for (Layer layer : network.getLayers()) {
+            if (!(layer instanceof ReplicableLayer replicable))
+                throw new IllegalArgumentException(layer.getClass().getSimpleName()
+                        + " does not support data-parallel training: it must implement ReplicableLayer.");
+            layers.add(replicable);
+        }
+        return layers;
+    }
+
+    /** One worker's replicas of every network layer plus its loss-gradient buffer. */
+    private static final class Worker {
+        final List<ReplicableLayer> layers = new ArrayList<>();
+        BatchBuffer lossGradient;
+        double shardLoss;
+    }
+
+    public void train(
+            double[][] X,
+            double[][] y,
+            int epochs,
+            int batchSize,
+            double lossThreshold
+    ) {
+        if (network.getOptimizer() == null)
+            throw new IllegalStateException("Optimizer not set.");
+
+        int samples = X.length;
+        int features = X[0].length;
+        int outputs = y[0].length;
+        LossFunction loss = network.getLoss();
+        List<ReplicableLayer> layers = replicableLayers(network);
+
+        int maxBatch = Math.min(batchSize, samples);
+        int shardCapacity = (maxBatch + workers - 1) / workers;
+
+        List<Worker> pool = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            Worker worker = new Worker();
+            for (ReplicableLayer layer : layers) {
+                ReplicableLayer replica = layer.replicate();
+                replica.compile(shardCapacity);
+                worker.layers.add(replica);
+            }
+            worker.lossGradient = new BatchBuffer(shardCapacity, outputs);
+            pool.add(worker);
+        }
+
+        // Replicas of layer i across all workers, in worker order, for the reduction
+        List<List<ReplicableLayer>> replicasByLayer = new ArrayList<>(layers.size());
+        for (int i = 0; i < layers.size(); i++) {
+            List<ReplicableLayer> replicas = new ArrayList<>(workers);
+            for (Worker worker : pool)
+                replicas.add(worker.layers.get(i));
+            replicasByLayer.add(replicas);
+        }
+
+        BatchBuffer xBuffer = new BatchBuffer(maxBatch, features);
+        BatchBuffer yBuffer = new BatchBuffer(maxBatch, outputs);
+        int[] indices = new int[samples];
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "nn-trainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (int epoch = 1; epoch <= epochs; epoch++) {
+
+                NeuralNetwork.shuffle(indices, random);
+
+                double epochLoss = 0.0;
+                int batchCount = 0;
+
+                for (int start = 0; start < samples; start += batchSize) {
+
+                    int end = Math.min(start + batchSize, samples);
+                    int n = end - start;
+
+                    DenseMatrix Xbatch = xBuffer.rows(n);
+                    DenseMatrix ybatch = yBuffer.rows(n);
+
+                    for (int i = start; i < end; i++) {
+                        Xbatch.copyRowFrom(i - start, X[indices[i]]);
+                        ybatch.copyRowFrom(i - start, y[indices[i]]);
+                    }
+
+                    // Forward/backward, one shard per worker (fewer when the batch has fewer rows)
+                    int active = Math.min(workers, n);
+                    List<Callable<Void>> shardTasks = new ArrayList<>(active);
+                    for (int w = 0; w < active; w++) {
+                        Worker worker = pool.get(w);
+                        int from = n * w / active;
+                        int to = n * (w + 1) / active;
+                        shardTasks.add(() -> {
+                            runShard(worker, loss, Xbatch, ybatch, from, to, n);
+                            return null;
+                        });
+                    }
+                    invokeAll(executor, shardTasks);
+
+                    // Striped reduction into the network's own gradients
+                    List<Callable<Void>> reduceTasks = new ArrayList<>(workers);
+                    for (int w = 0; w < workers; w++) {
+                        int stripe = w;
+                        reduceTasks.add(() -> {
+                            for (int i = 0; i < layers.size(); i++)
+                                layers.get(i).reduceGradients(
+                                        replicasByLayer.get(i).subList(0, active), stripe, workers);
+                            return null;
+                        });
+                    }
+                    invokeAll(executor, reduceTasks);
+
+                    network.update();
+
+                    double batchLoss = 0.0;
+                    for (int w = 0; w < active; w++)
+                        batchLoss += pool.get(w).shardLoss;
+                    epochLoss += batchLoss / n;
+                    batchCount++;
+                }
+
+                epochLoss /= batchCount;
+
+                System.out.printf(
+                        "Epoch %d/%d - Loss: %.6f%n",
+                        epoch, epochs, epochLoss
+                );
+
+                // Early stopping
+                if (epochLoss <= lossThreshold) {
+                    System.out.println(
+                            "Training stopped early: loss threshold reached."
+                    );
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void train(double[][] X, double[][] y, int epochs, int batchSize) {
+        train(X, y, epochs, batchSize, 0.0);
+    }
+
+    /**
+     * Runs rows [from, to) of the batch through one worker's replicas. The loss gradient is
+     * rescaled from the shard's mean to its share of the whole batch's mean, so the summed
+     * replica gradients equal the gradient of the full batch.
+     */
+    private static void runShard(Worker worker, LossFunction loss,
+                                 DenseMatrix Xbatch, DenseMatrix ybatch,
+                                 int from, int to, int batchRows) {
+        int rows = to - from;
+        DenseMatrix input = Xbatch.sliceRows(from, to);
+        DenseMatrix actual = ybatch.sliceRows(from, to);
+
+        DenseMatrix predicted = input;
+        for (Layer layer : worker.layers)
+            predicted = layer.forward(predicted);
+
+        worker.shardLoss = loss.compute(predicted, actual) * rows;
+
+        DenseMatrix grad = worker.lossGradient.rows(rows);
+        loss.gradientInto(predicted, actual, grad);
+        Matrix.multiplyInto(grad, rows / (double) batchRows, grad);
+
+        for (int i = worker.layers.size() - 1; i >= 0; i--)
+            grad = worker.layers.get(i).backward(grad);
+    }
+
+    private static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks))
+                future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Training step failed", e.getCause());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package neural.optimizers;
 
 import neural.core.Optimizer;
+import neural.utils.DenseMatrix;
 
 public class SGD implements Optimizer {
 
@@ -25,4 +26,18 @@ public class SGD implements Optimizer {
             }
         }
     }
+
+    @Override
+    public void update(DenseMatrix parameters, DenseMatrix gradients) {
+        int rows = parameters.rows();
+        int cols = parameters.cols();
+        double[] p = parameters.data(), g = gradients.data();
+
+        for (int i = 0; i < rows; i++) {
+            int pRow = parameters.index(i, 0), gRow = gradients.index(i, 0);
+            for (int j = 0; j < cols; j++) {
+                p[pRow + j] -= learningRate * g[gRow + j];
+            }
+        }
+    }
 }
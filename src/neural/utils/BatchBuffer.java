@@ -0,0 +1,37 @@
+package neural.utils;
+
+/**
+ * Preallocated matrix with room for up to {@code capacity} rows.
+ *
+ * {@link #rows(int)} hands out a view of the first n rows and caches it per n,
+ * so a training loop with a fixed batch size (plus a shorter final batch)
+ * reuses the same storage and view objects on every step.
+ */
+public final class BatchBuffer {
+
+    private final DenseMatrix storage;
+    private final DenseMatrix[] views;
+
+    public BatchBuffer(int capacity, int cols) {
+        this.storage = new DenseMatrix(capacity, cols);
+        this.views = new DenseMatrix[capacity + 1];
+    }
+
+    /** View of the first {@code n} rows; n must not exceed the capacity. */
+    public DenseMatrix rows(int n) {
+        DenseMatrix view = views[n];
+        if (view == null) {
+            view = storage.sliceRows(0, n);
+            views[n] = view;
+        }
+        return view;
+    }
+
+    public int capacity() {
+        return storage.rows();
+    }
+
+    public int cols() {
+        return storage.cols();
+    }
+}
@@ -26,6 +26,16 @@ public class Dataset {
         return normalize(data, stats, NormalizationType.MIN_MAX);
     }
 
+    /** Normalizes a single row in place, for data that is streamed rather than held as double[][]. */
+    public static void normalizeRow(double[] row, NormalizationStats stats, NormalizationType type) {
+        for (int j = 0; j < row.length; j++) {
+            row[j] = switch (type) {
+                case Z_SCORE -> (row[j] - stats.mean[j]) / stats.std[j];
+                case MIN_MAX -> (row[j] - stats.min[j]) / (stats.max[j] - stats.min[j]);
+            };
+        }
+    }
+
     private static NormalizationStats computeMinMaxStats(double[][] data) {
         int nFeatures = data[0].length;
         double[] min = new double[nFeatures];
@@ -0,0 +1,191 @@
+package neural.utils;
+
+import java.util.Arrays;
+
+/**
+ * Dense row-major matrix backed by a single {@code double[]}.
+ *
+ * Element (i, j) lives at {@code data[offset + i * rowStride + j]}.
+ * Row and column slices are views that share the backing array, so slicing a batch
+ * out of a larger matrix copies nothing. Use {@link #of(double[][])} and
+ * {@link #toArray()} to move between this type and the jagged {@code double[][]} API.
+ */
+public final class DenseMatrix {
+
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int rowStride;
+
+    /** Creates a zero-filled rows x cols matrix. */
+    public DenseMatrix(int rows, int cols) {
+        this(new double[checkedSize(rows, cols)], rows, cols, 0, cols);
+    }
+
+    /** Wraps a row-major array of exactly rows * cols values (no copy). */
+    public DenseMatrix(int rows, int cols, double[] data) {
+        this(data, rows, cols, 0, cols);
+        if (data.length != checkedSize(rows, cols))
+            throw new IllegalArgumentException(
+                    "Backing array has " + data.length + " values, expected " + rows + "x" + cols
+            );
+    }
+
+    private DenseMatrix(double[] data, int rows, int cols, int offset, int rowStride) {
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.rowStride = rowStride;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Negative matrix shape: " + rows + "x" + cols);
+        return Math.multiplyExact(rows, cols);
+    }
+
+    /* =========================
+       double[][] Adapters
+       ========================= */
+
+    /** Copies a jagged matrix into a new contiguous one. */
+    public static DenseMatrix of(double[][] A) {
+        int rows = A.length;
+        int cols = rows == 0 ? 0 : A[0].length;
+
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        result.copyFrom(A);
+        return result;
+    }
+
+    /** Copies this matrix into a new jagged array. */
+    public double[][] toArray() {
+        double[][] result = new double[rows][cols];
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(data, offset + i * rowStride, result[i], 0, cols);
+        return result;
+    }
+
+    /** Overwrites this matrix with the values of a jagged matrix of the same shape. */
+    public void copyFrom(double[][] A) {
+        if (A.length != rows || (rows > 0 && A[0].length != cols))
+            throw new IllegalArgumentException("Matrix shape mismatch");
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(A[i], 0, data, offset + i * rowStride, cols);
+    }
+
+    /** Overwrites this matrix with the values of another matrix of the same shape. */
+    public void copyFrom(DenseMatrix A) {
+        if (A.rows != rows || A.cols != cols)
+            throw new IllegalArgumentException("Matrix shape mismatch");
+        if (isContiguous() && A.isContiguous()) {
+            System.arraycopy(A.data, A.offset, data, offset, rows * cols);
+            return;
+        }
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(A.data, A.offset + i * A.rowStride, data, offset + i * rowStride, cols);
+    }
+
+    /** Copies row {@code i} of this matrix into {@code dst}. */
+    public void copyRowTo(int i, double[] dst) {
+        System.arraycopy(data, offset + i * rowStride, dst, 0, cols);
+    }
+
+    /** Overwrites row {@code i} of this matrix with {@code src}. */
+    public void copyRowFrom(int i, double[] src) {
+        System.arraycopy(src, 0, data, offset + i * rowStride, cols);
+    }
+
+    /* =========================
+       Shape & Storage
+       ========================= */
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+
+    /** Backing array; element (i, j) is at {@code offset() + i * rowStride() + j}. */
+    public double[] data() { return data; }
+    public int offset() { return offset; }
+    public int rowStride() { return rowStride; }
+
+    /** True when the rows are packed back to back, so the matrix is one dense run of the backing array. */
+    public boolean isContiguous() {
+        return rowStride == cols || rows <= 1;
+    }
+
+    public int index(int i, int j) {
+        return offset + i * rowStride + j;
+    }
+
+    public double get(int i, int j) {
+        return data[offset + i * rowStride + j];
+    }
+
+    public void set(int i, int j, double value) {
+        data[offset + i * rowStride + j] = value;
+    }
+
+    /* =========================
+       Views (no copy)
+       ========================= */
+
+    /** View of rows {@code [from, to)}. */
+    public DenseMatrix sliceRows(int from, int to) {
+        checkRange(from, to, rows);
+        return new DenseMatrix(data, to - from, cols, offset + from * rowStride, rowStride);
+    }
+
+    /** View of rows {@code [rowFrom, rowTo)} and columns {@code [colFrom, colTo)}. */
+    public DenseMatrix slice(int rowFrom, int rowTo, int colFrom, int colTo) {
+        checkRange(rowFrom, rowTo, rows);
+        checkRange(colFrom, colTo, cols);
+        return new DenseMatrix(data, rowTo - rowFrom, colTo - colFrom,
+                offset + rowFrom * rowStride + colFrom, rowStride);
+    }
+
+    /** 1 x cols view of row {@code i}. */
+    public DenseMatrix row(int i) {
+        return sliceRows(i, i + 1);
+    }
+
+    /** View with a different shape over the same values. Requires a contiguous matrix. */
+    public DenseMatrix reshape(int newRows, int newCols) {
+        if (!isContiguous())
+            throw new IllegalStateException("Only contiguous matrices can be reshaped");
+        if ((long) newRows * newCols != (long) rows * cols)
+            throw new IllegalArgumentException(
+                    "Cannot reshape " + rows + "x" + cols + " to " + newRows + "x" + newCols
+            );
+        return new DenseMatrix(data, newRows, newCols, offset, newCols);
+    }
+
+    private static void checkRange(int from, int to, int size) {
+        if (from < 0 || to > size || from > to)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+    }
+
+    /* =========================
+       Utility
+       ========================= */
+
+    /** Contiguous deep copy. */
+    public DenseMatrix copy() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        result.copyFrom(this);
+        return result;
+    }
+
+    public void fill(double value) {
+        for (int i = 0; i < rows; i++) {
+            int base = offset + i * rowStride;
+            Arrays.fill(data, base, base + cols, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DenseMatrix[" + rows + "x" + cols + "]";
+    }
+}
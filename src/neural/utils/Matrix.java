@@ -1,5 +1,8 @@
 package neural.utils;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 public final class Matrix {
 
     private Matrix() {
@@ -15,6 +18,11 @@ public final class Matrix {
             throw new IllegalArgumentException("Matrix shape mismatch");
     }
 
+    private static void validateSameShape(DenseMatrix A, DenseMatrix B) {
+        if (A.rows() != B.rows() || A.cols() != B.cols())
+            throw new IllegalArgumentException("Matrix shape mismatch");
+    }
+
     /* =========================
        Core Operations
        ========================= */
@@ -33,17 +41,222 @@ public final class Matrix {
             );
 
         double[][] result = new double[aRows][bCols];
+        runBlocked(aRows, bCols, aCols,
+                (r0, r1, c0, c1) -> dotBlock(A, B, result, r0, r1, c0, c1));
+        return result;
+    }
+
+    /* =========================
+       Blocked GEMM Kernel
+       ========================= */
 
-        for (int i = 0; i < aRows; i++) {
-            for (int j = 0; j < bCols; j++) {
-                double sum = 0.0;
-                for (int k = 0; k < aCols; k++) {
-                    sum += A[i][k] * B[k][j];
+    // Tile edge for the k and j loops: a BLOCK x BLOCK tile of B is 32 KB and stays in L1/L2
+    private static final int BLOCK = 64;
+
+    // Multiply-adds above which dot() splits the work across the common fork-join pool
+    private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    /**
+     * C[rows, cols] += A[rows, :] · B[:, cols] in i-k-j order over BLOCK x BLOCK tiles.
+     * The inner loop walks contiguous rows of B and C, so the JIT can vectorise it.
+     * Each C[i][j] still accumulates its products in ascending k order,
+     * so results match the naive triple loop bit for bit.
+     */
+    private static void dotBlock(double[][] A, double[][] B, double[][] C,
+                                 int rowStart, int rowEnd, int colStart, int colEnd) {
+        int inner = B.length;
+
+        for (int kk = 0; kk < inner; kk += BLOCK) {
+            int kEnd = Math.min(kk + BLOCK, inner);
+
+            for (int jj = colStart; jj < colEnd; jj += BLOCK) {
+                int jEnd = Math.min(jj + BLOCK, colEnd);
+
+                for (int i = rowStart; i < rowEnd; i++) {
+                    double[] a = A[i];
+                    double[] c = C[i];
+
+                    for (int k = kk; k < kEnd; k++) {
+                        double aik = a[k];
+                        double[] b = B[k];
+                        for (int j = jj; j < jEnd; j++)
+                            c[j] += aik * b[j];
+                    }
                 }
-                result[i][j] = sum;
             }
         }
-        return result;
+    }
+
+    /** Same tiling as the jagged kernel, addressing the flat backing arrays directly. */
+    private static void dotBlock(DenseMatrix A, DenseMatrix B, DenseMatrix C,
+                                 int rowStart, int rowEnd, int colStart, int colEnd) {
+        double[] a = A.data();
+        double[] b = B.data();
+        double[] c = C.data();
+        int inner = B.rows();
+
+        for (int kk = 0; kk < inner; kk += BLOCK) {
+            int kEnd = Math.min(kk + BLOCK, inner);
+
+            for (int jj = colStart; jj < colEnd; jj += BLOCK) {
+                int jEnd = Math.min(jj + BLOCK, colEnd);
+
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int aRow = A.index(i, 0);
+                    int cRow = C.index(i, 0);
+
+                    for (int k = kk; k < kEnd; k++) {
+                        double aik = a[aRow + k];
+                        int bRow = B.index(k, 0);
+                        for (int j = jj; j < jEnd; j++)
+                            c[cRow + j] += aik * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * C[rows, cols] += Aᵀ[rows, :] · B[:, cols], reading A by rows so nothing is transposed.
+     * For each shared row k, row k of A scales row k of B into the tile of C,
+     * so both inner accesses are contiguous and every C[i][j] sums in ascending k order.
+     */
+    private static void dotTransposeABlock(DenseMatrix A, DenseMatrix B, DenseMatrix C,
+                                           int rowStart, int rowEnd, int colStart, int colEnd) {
+        double[] a = A.data();
+        double[] b = B.data();
+        double[] c = C.data();
+        int inner = A.rows();
+
+        for (int ii = rowStart; ii < rowEnd; ii += BLOCK) {
+            int iEnd = Math.min(ii + BLOCK, rowEnd);
+
+            for (int kk = 0; kk < inner; kk += BLOCK) {
+                int kEnd = Math.min(kk + BLOCK, inner);
+
+                for (int jj = colStart; jj < colEnd; jj += BLOCK) {
+                    int jEnd = Math.min(jj + BLOCK, colEnd);
+
+                    for (int k = kk; k < kEnd; k++) {
+                        int aRow = A.index(k, 0);
+                        int bRow = B.index(k, 0);
+
+                        for (int i = ii; i < iEnd; i++) {
+                            double aki = a[aRow + i];
+                            int cRow = C.index(i, 0);
+                            for (int j = jj; j < jEnd; j++)
+                                c[cRow + j] += aki * b[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * C[rows, cols] += A[rows, :] · Bᵀ[:, cols]: each C[i][j] is the dot product of
+     * row i of A with row j of B, both contiguous. Tiles over j and k keep a BLOCK x BLOCK
+     * tile of B hot across all rows of A, and each sum continues in ascending k order.
+     */
+    private static void dotTransposeBBlock(DenseMatrix A, DenseMatrix B, DenseMatrix C,
+                                           int rowStart, int rowEnd, int colStart, int colEnd) {
+        double[] a = A.data();
+        double[] b = B.data();
+        double[] c = C.data();
+        int inner = A.cols();
+
+        for (int jj = colStart; jj < colEnd; jj += BLOCK) {
+            int jEnd = Math.min(jj + BLOCK, colEnd);
+
+            for (int kk = 0; kk < inner; kk += BLOCK) {
+                int kEnd = Math.min(kk + BLOCK, inner);
+
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int aRow = A.index(i, 0);
+                    int cRow = C.index(i, 0);
+
+                    int j = jj;
+                    // Four independent accumulators hide the add latency of a single dot product
+                    for (; j + 3 < jEnd; j += 4) {
+                        int b0 = B.index(j, 0), b1 = B.index(j + 1, 0);
+                        int b2 = B.index(j + 2, 0), b3 = B.index(j + 3, 0);
+                        double s0 = c[cRow + j], s1 = c[cRow + j + 1];
+                        double s2 = c[cRow + j + 2], s3 = c[cRow + j + 3];
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = a[aRow + k];
+                            s0 += aik * b[b0 + k];
+                            s1 += aik * b[b1 + k];
+                            s2 += aik * b[b2 + k];
+                            s3 += aik * b[b3 + k];
+                        }
+                        c[cRow + j] = s0;
+                        c[cRow + j + 1] = s1;
+                        c[cRow + j + 2] = s2;
+                        c[cRow + j + 3] = s3;
+                    }
+                    for (; j < jEnd; j++) {
+                        int bRow = B.index(j, 0);
+                        double sum = c[cRow + j];
+                        for (int k = kk; k < kEnd; k++)
+                            sum += a[aRow + k] * b[bRow + k];
+                        c[cRow + j] = sum;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Computes one tile of an output matrix: rows [rowStart, rowEnd) x cols [colStart, colEnd). */
+    @FunctionalInterface
+    private interface BlockKernel {
+        void compute(int rowStart, int rowEnd, int colStart, int colEnd);
+    }
+
+    /** Runs the kernel over a rows x cols output, on the common fork-join pool when the product is large. */
+    private static void runBlocked(int rows, int cols, int inner, BlockKernel kernel) {
+        if ((long) rows * inner * cols >= PARALLEL_THRESHOLD)
+            ForkJoinPool.commonPool().invoke(new BlockTask(kernel, inner, 0, rows, 0, cols));
+        else
+            kernel.compute(0, rows, 0, cols);
+    }
+
+    /** Splits the output along its larger dimension until a tile is small enough to run serially. */
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final long LEAF_WORK = 1L << 18;
+
+        private final transient BlockKernel kernel;
+        private final int inner;
+        private final int rowStart, rowEnd, colStart, colEnd;
+
+        BlockTask(BlockKernel kernel, int inner,
+                  int rowStart, int rowEnd, int colStart, int colEnd) {
+            this.kernel = kernel;
+            this.inner = inner;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = rowEnd - rowStart;
+            int cols = colEnd - colStart;
+
+            if ((long) rows * cols * inner <= LEAF_WORK || (rows == 1 && cols <= BLOCK)) {
+                kernel.compute(rowStart, rowEnd, colStart, colEnd);
+            } else if (rows >= cols / BLOCK && rows > 1) {
+                int mid = rowStart + rows / 2;
+                invokeAll(new BlockTask(kernel, inner, rowStart, mid, colStart, colEnd),
+                          new BlockTask(kernel, inner, mid, rowEnd, colStart, colEnd));
+            } else {
+                // Keep column splits on BLOCK boundaries so tiles stay aligned
+                int mid = colStart + Math.max(BLOCK, (cols / 2) / BLOCK * BLOCK);
+                invokeAll(new BlockTask(kernel, inner, rowStart, rowEnd, colStart, mid),
+                          new BlockTask(kernel, inner, rowStart, rowEnd, mid, colEnd));
+            }
+        }
     }
 
     // Add matrices (supports bias broadcasting: [1 x n])
@@ -170,4 +383,232 @@ public final class Matrix {
         }
         System.out.println();
     }
+
+    /* =========================
+       DenseMatrix Operations
+       ========================= */
+
+    // Matrix multiplication (dot product)
+    public static DenseMatrix dot(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.rows(), B.cols());
+        dotInto(A, B, result);
+        return result;
+    }
+
+    // Aᵀ · B without materialising the transpose
+    public static DenseMatrix dotTransposeA(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.cols(), B.cols());
+        dotTransposeAInto(A, B, result);
+        return result;
+    }
+
+    // A · Bᵀ without materialising the transpose
+    public static DenseMatrix dotTransposeB(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.rows(), B.rows());
+        dotTransposeBInto(A, B, result);
+        return result;
+    }
+
+    // Add matrices (supports bias broadcasting: [1 x n])
+    public static DenseMatrix add(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.rows(), A.cols());
+        addInto(A, B, result);
+        return result;
+    }
+
+    // Subtract matrices
+    public static DenseMatrix subtract(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.rows(), A.cols());
+        subtractInto(A, B, result);
+        return result;
+    }
+
+    // Hadamard (element-wise) product
+    public static DenseMatrix hadamard(DenseMatrix A, DenseMatrix B) {
+        DenseMatrix result = new DenseMatrix(A.rows(), A.cols());
+        hadamardInto(A, B, result);
+        return result;
+    }
+
+    // Scalar multiplication
+    public static DenseMatrix multiply(DenseMatrix A, double scalar) {
+        DenseMatrix result = new DenseMatrix(A.rows(), A.cols());
+        multiplyInto(A, scalar, result);
+        return result;
+    }
+
+    // Transpose matrix
+    public static DenseMatrix transpose(DenseMatrix A) {
+        DenseMatrix result = new DenseMatrix(A.cols(), A.rows());
+        transposeInto(A, result);
+        return result;
+    }
+
+    // Sum rows (used for bias gradients)
+    public static DenseMatrix sumRows(DenseMatrix A) {
+        DenseMatrix result = new DenseMatrix(1, A.cols());
+        sumRowsInto(A, result);
+        return result;
+    }
+
+    /* =========================
+       Into-Destination Variants
+       =========================
+       Each writes its result into a caller-owned matrix and allocates nothing,
+       so preallocated workspaces can be reused across batches.
+       Element-wise variants accept a destination that aliases an operand. */
+
+    private static void validateShape(DenseMatrix C, int rows, int cols) {
+        if (C.rows() != rows || C.cols() != cols)
+            throw new IllegalArgumentException(
+                    "Destination shape mismatch: expected " + rows + "x" + cols +
+                            ", got " + C.rows() + "x" + C.cols()
+            );
+    }
+
+    // C = A · B (C must not alias A or B)
+    public static void dotInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        if (A.cols() != B.rows())
+            throw new IllegalArgumentException(
+                    "Dot product dimension mismatch: " +
+                            A.rows() + "x" + A.cols() + " · " + B.rows() + "x" + B.cols()
+            );
+        validateShape(C, A.rows(), B.cols());
+
+        C.fill(0.0);
+        runBlocked(A.rows(), B.cols(), A.cols(),
+                (r0, r1, c0, c1) -> dotBlock(A, B, C, r0, r1, c0, c1));
+    }
+
+    // C = Aᵀ · B, e.g. dW = Xᵀ · dZ (C must not alias A or B)
+    public static void dotTransposeAInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        if (A.rows() != B.rows())
+            throw new IllegalArgumentException(
+                    "Dot product dimension mismatch: " +
+                            A.cols() + "x" + A.rows() + " (Aᵀ) · " + B.rows() + "x" + B.cols()
+            );
+        validateShape(C, A.cols(), B.cols());
+
+        C.fill(0.0);
+        runBlocked(A.cols(), B.cols(), A.rows(),
+                (r0, r1, c0, c1) -> dotTransposeABlock(A, B, C, r0, r1, c0, c1));
+    }
+
+    // C = A · Bᵀ, e.g. dX = dZ · Wᵀ (C must not alias A or B)
+    public static void dotTransposeBInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        if (A.cols() != B.cols())
+            throw new IllegalArgumentException(
+                    "Dot product dimension mismatch: " +
+                            A.rows() + "x" + A.cols() + " · " + B.cols() + "x" + B.rows() + " (Bᵀ)"
+            );
+        validateShape(C, A.rows(), B.rows());
+
+        C.fill(0.0);
+        runBlocked(A.rows(), B.rows(), A.cols(),
+                (r0, r1, c0, c1) -> dotTransposeBBlock(A, B, C, r0, r1, c0, c1));
+    }
+
+    // C = A + B (supports bias broadcasting: [1 x n])
+    public static void addInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        int rows = A.rows();
+        int cols = A.cols();
+        boolean broadcast = B.rows() == 1 && B.cols() == cols;
+        if (!broadcast)
+            validateSameShape(A, B);
+        validateShape(C, rows, cols);
+
+        double[] a = A.data(), b = B.data(), c = C.data();
+
+        for (int i = 0; i < rows; i++) {
+            int aRow = A.index(i, 0);
+            int bRow = B.index(broadcast ? 0 : i, 0);
+            int cRow = C.index(i, 0);
+            for (int j = 0; j < cols; j++)
+                c[cRow + j] = a[aRow + j] + b[bRow + j];
+        }
+    }
+
+    // C = A - B
+    public static void subtractInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        validateSameShape(A, B);
+        validateShape(C, A.rows(), A.cols());
+
+        int rows = A.rows();
+        int cols = A.cols();
+        double[] a = A.data(), b = B.data(), c = C.data();
+
+        for (int i = 0; i < rows; i++) {
+            int aRow = A.index(i, 0), bRow = B.index(i, 0), cRow = C.index(i, 0);
+            for (int j = 0; j < cols; j++)
+                c[cRow + j] = a[aRow + j] - b[bRow + j];
+        }
+    }
+
+    // C = A ⊙ B
+    public static void hadamardInto(DenseMatrix A, DenseMatrix B, DenseMatrix C) {
+        validateSameShape(A, B);
+        validateShape(C, A.rows(), A.cols());
+
+        int rows = A.rows();
+        int cols = A.cols();
+        double[] a = A.data(), b = B.data(), c = C.data();
+
+        for (int i = 0; i < rows; i++) {
+            int aRow = A.index(i, 0), bRow = B.index(i, 0), cRow = C.index(i, 0);
+            for (int j = 0; j < cols; j++)
+                c[cRow + j] = a[aRow + j] * b[bRow + j];
+        }
+    }
+
+    // C = A * scalar
+    public static void multiplyInto(DenseMatrix A, double scalar, DenseMatrix C) {
+        validateShape(C, A.rows(), A.cols());
+
+        int rows = A.rows();
+        int cols = A.cols();
+        double[] a = A.data(), c = C.data();
+
+        for (int i = 0; i < rows; i++) {
+            int aRow = A.index(i, 0), cRow = C.index(i, 0);
+            for (int j = 0; j < cols; j++)
+                c[cRow + j] = a[aRow + j] * scalar;
+        }
+    }
+
+    // C = Aᵀ (C must not alias A)
+    public static void transposeInto(DenseMatrix A, DenseMatrix C) {
+        int rows = A.rows();
+        int cols = A.cols();
+        validateShape(C, cols, rows);
+
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                C.set(j, i, A.get(i, j));
+    }
+
+    // C[0, :] = sum of the rows of A
+    public static void sumRowsInto(DenseMatrix A, DenseMatrix C) {
+        int rows = A.rows();
+        int cols = A.cols();
+        validateShape(C, 1, cols);
+
+        C.fill(0.0);
+        double[] a = A.data(), c = C.data();
+        int cRow = C.index(0, 0);
+
+        for (int i = 0; i < rows; i++) {
+            int aRow = A.index(i, 0);
+            for (int j = 0; j < cols; j++)
+                c[cRow + j] += a[aRow + j];
+        }
+    }
+
+    public static void print(DenseMatrix A) {
+        for (int i = 0; i < A.rows(); i++) {
+            for (int j = 0; j < A.cols(); j++)
+                System.out.printf("%8.4f ", A.get(i, j));
+            System.out.println();
+        }
+        System.out.println();
+    }
 }